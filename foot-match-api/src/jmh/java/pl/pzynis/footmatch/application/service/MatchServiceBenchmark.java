@@ -0,0 +1,172 @@
+package pl.pzynis.footmatch.application.service;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import pl.pzynis.footmatch.api.dto.CreateMatchRequest;
+import pl.pzynis.footmatch.api.dto.CreateMatchSeriesRequest;
+import pl.pzynis.footmatch.api.dto.MatchResponse;
+import pl.pzynis.footmatch.api.dto.ParticipantResponse;
+import pl.pzynis.footmatch.benchmark.BenchmarkDatabase;
+import pl.pzynis.footmatch.domain.model.MatchStatus;
+import pl.pzynis.footmatch.domain.model.UserRole;
+import pl.pzynis.footmatch.infrastructure.persistence.entity.MatchEntity;
+import pl.pzynis.footmatch.infrastructure.persistence.entity.UserEntity;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// In the same package as MatchService to reach the package-private toMatchResponse mapping
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MatchServiceBenchmark {
+
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, 20, Sort.by("matchDate"));
+
+    private MatchService matchService;
+    private List<UUID> matchIds;
+    private MatchEntity detachedMatch;
+
+    @Setup
+    public void setUp(BenchmarkDatabase database) {
+        matchService = database.bean(MatchService.class);
+        matchIds = database.matchIds();
+
+        UserEntity organizer = UserEntity.builder()
+                .id(UUID.randomUUID())
+                .email("organizer@bench.local")
+                .name("Organizer")
+                .role(UserRole.ORGANIZER)
+                .build();
+        detachedMatch = MatchEntity.builder()
+                .id(UUID.randomUUID())
+                .organizer(organizer)
+                .title("Match")
+                .description("Benchmark match")
+                .location("Orlik Mokotów")
+                .matchDate(Instant.now().plus(1, ChronoUnit.DAYS))
+                .maxPlayers(14)
+                .acceptedCount(6)
+                .createdAt(Instant.now())
+                .build();
+    }
+
+    @Benchmark
+    public Page<MatchResponse> findAll() {
+        return matchService.findAll(MatchStatus.OPEN, null, null, FIRST_PAGE);
+    }
+
+    @Benchmark
+    public Page<MatchResponse> findAllByLocation() {
+        return matchService.findAll(MatchStatus.OPEN, "orlik", Instant.now(), FIRST_PAGE);
+    }
+
+    @Benchmark
+    public MatchResponse findById() {
+        return matchService.findById(randomMatchId());
+    }
+
+    @Benchmark
+    public ParticipantResponse joinMatch(JoinState join) {
+        return matchService.joinMatch(join.matchId, join.playerId);
+    }
+
+    // A season of weekly matches: one batched transaction vs the sequential POSTs it replaces
+    @Benchmark
+    public List<MatchResponse> createSeries(SeriesState series) {
+        return matchService.createSeries(
+                new CreateMatchSeriesRequest(series.template, SeriesState.OCCURRENCES, 7), series.organizerId);
+    }
+
+    @Benchmark
+    public List<MatchResponse> createSeriesOneByOne(SeriesState series) {
+        List<MatchResponse> created = new ArrayList<>(SeriesState.OCCURRENCES);
+        for (int i = 0; i < SeriesState.OCCURRENCES; i++) {
+            CreateMatchRequest template = series.template;
+            created.add(matchService.create(new CreateMatchRequest(template.title(), template.description(),
+                    template.location(), template.matchDate().plusWeeks(i), template.maxPlayers(), template.coordinates()),
+                    series.organizerId));
+        }
+        return created;
+    }
+
+    @Benchmark
+    public MatchResponse toMatchResponse() {
+        return matchService.toMatchResponse(detachedMatch);
+    }
+
+    private UUID randomMatchId() {
+        return matchIds.get(ThreadLocalRandom.current().nextInt(matchIds.size()));
+    }
+
+    @State(Scope.Benchmark)
+    public static class SeriesState {
+
+        static final int OCCURRENCES = 52;
+        private static final String TITLE = "Series benchmark";
+
+        private BenchmarkDatabase database;
+        private UUID organizerId;
+        private CreateMatchRequest template;
+
+        @Setup(Level.Trial)
+        public void setUp(BenchmarkDatabase database) {
+            this.database = database;
+            organizerId = database.jdbc().queryForObject(
+                    "SELECT id FROM app_user WHERE role = 'ORGANIZER' ORDER BY email LIMIT 1", UUID.class);
+            template = new CreateMatchRequest(TITLE, "Weekly league game", "Orlik Mokotów",
+                    LocalDateTime.now().plusDays(1), 14, null);
+        }
+
+        // Keeps the match table at its seeded size, so later iterations don't insert into a bigger table
+        @TearDown(Level.Iteration)
+        public void removeSeries() {
+            database.jdbc().update("DELETE FROM match WHERE title = ?", TITLE);
+        }
+    }
+
+    // Every join needs a player who is not in the match yet; created outside the measured call
+    @State(Scope.Thread)
+    public static class JoinState {
+
+        private BenchmarkDatabase database;
+        private UUID matchId;
+        private UUID playerId;
+
+        @Setup(Level.Iteration)
+        public void setUpIteration(BenchmarkDatabase database) {
+            this.database = database;
+        }
+
+        @Setup(Level.Invocation)
+        public void createPlayer(MatchServiceBenchmark benchmark) {
+            matchId = benchmark.randomMatchId();
+            playerId = UUID.randomUUID();
+            database.jdbc().update(
+                    "INSERT INTO app_user (id, email, name, role) VALUES (?, ?, 'Joiner', 'PLAYER')",
+                    playerId, "join-" + playerId + "@bench.local"
+            );
+        }
+
+        @TearDown(Level.Iteration)
+        public void removeJoins() {
+            database.jdbc().update("""
+                    DELETE FROM match_participant
+                    WHERE player_id IN (SELECT id FROM app_user WHERE email LIKE 'join-%')
+                    """);
+            database.jdbc().update("DELETE FROM app_user WHERE email LIKE 'join-%'");
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package pl.pzynis.footmatch.benchmark;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import pl.pzynis.footmatch.FootMatchApiApplication;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+// Embedded Postgres + full application context, migrated by Liquibase and seeded once per trial
+@State(Scope.Benchmark)
+public class BenchmarkDatabase {
+
+    public static final int USERS = 2_000;
+    public static final int ORGANIZERS = 100;
+    public static final int MATCHES = 10_000;
+    public static final int PARTICIPANTS_PER_MATCH = 8;
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+    private List<UUID> matchIds;
+
+    @Setup
+    public void start() throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                "--spring.datasource.username=postgres",
+                "--spring.datasource.password=",
+                "--spring.main.banner-mode=off",
+                "--match.accepted-count-reconciliation.cron=-",
+                "--logging.level.root=WARN",
+                "--logging.level.pl.pzynis.footmatch=WARN"
+        ));
+        args.addAll(extraArgs());
+        context = new SpringApplicationBuilder(FootMatchApiApplication.class)
+                .web(webApplicationType())
+                // Command-line args, so they take precedence over application.yaml
+                .run(args.toArray(String[]::new));
+        seed(jdbc());
+        matchIds = jdbc().queryForList("SELECT id FROM match WHERE status = 'OPEN' ORDER BY id LIMIT 1000", UUID.class);
+    }
+
+    @TearDown
+    public void stop() throws IOException {
+        context.close();
+        postgres.close();
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public JdbcTemplate jdbc() {
+        return context.getBean(JdbcTemplate.class);
+    }
+
+    public List<UUID> matchIds() {
+        return matchIds;
+    }
+
+    protected WebApplicationType webApplicationType() {
+        return WebApplicationType.NONE;
+    }
+
+    protected List<String> extraArgs() {
+        return List.of();
+    }
+
+    private static void seed(JdbcTemplate jdbc) {
+        jdbc.update("""
+                INSERT INTO app_user (id, email, name, role)
+                SELECT gen_random_uuid(), 'user' || g || '@bench.local', 'User ' || g,
+                       CASE WHEN g <= ? THEN 'ORGANIZER' ELSE 'PLAYER' END
+                FROM generate_series(1, ?) g
+                """, ORGANIZERS, USERS);
+        jdbc.update("""
+                INSERT INTO match (organizer_id, title, location, match_date, max_players, status)
+                SELECT u.id, 'Match ' || g,
+                       (ARRAY['Orlik Mokotów', 'Hala Wola', 'Boisko Ursynów', 'Orlik Praga'])[1 + g % 4] || ' ' || g,
+                       now() + ((g % 120) - 60) * interval '1 day' + g * interval '1 minute',
+                       14,
+                       CASE WHEN g % 10 = 0 THEN 'CLOSED' ELSE 'OPEN' END
+                FROM generate_series(1, ?) g
+                JOIN app_user u ON u.email = 'user' || (1 + g % ?) || '@bench.local'
+                """, MATCHES, ORGANIZERS);
+        jdbc.update("""
+                INSERT INTO match_participant (match_id, player_id, status)
+                SELECT m.id, u.id, CASE WHEN k <= 6 THEN 'ACCEPTED' ELSE 'PENDING' END
+                FROM (SELECT id, row_number() OVER (ORDER BY id) AS rn FROM match) m
+                CROSS JOIN generate_series(1, ?) k
+                JOIN app_user u ON u.email = 'user' || (? + 1 + (m.rn * ? + k) % (? - ?)) || '@bench.local'
+                """, PARTICIPANTS_PER_MATCH, ORGANIZERS, PARTICIPANTS_PER_MATCH, USERS, ORGANIZERS);
+        jdbc.update("""
+                UPDATE match m SET accepted_count = (
+                    SELECT COUNT(*) FROM match_participant mp WHERE mp.match_id = m.id AND mp.status = 'ACCEPTED'
+                )
+                """);
+        jdbc.execute("ANALYZE");
+    }
+}
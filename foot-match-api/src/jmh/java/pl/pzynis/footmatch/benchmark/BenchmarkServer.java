@@ -0,0 +1,35 @@
+package pl.pzynis.footmatch.benchmark;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.core.env.Environment;
+
+import java.net.URI;
+import java.util.List;
+
+// BenchmarkDatabase behind a real Tomcat on a random port, in either threading mode
+@State(Scope.Benchmark)
+public class BenchmarkServer extends BenchmarkDatabase {
+
+    @Param({"false", "true"})
+    public boolean virtualThreads;
+
+    public URI uri(String path) {
+        return URI.create("http://localhost:" + bean(Environment.class).getProperty("local.server.port") + path);
+    }
+
+    @Override
+    protected WebApplicationType webApplicationType() {
+        return WebApplicationType.SERVLET;
+    }
+
+    @Override
+    protected List<String> extraArgs() {
+        return List.of(
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + virtualThreads
+        );
+    }
+}
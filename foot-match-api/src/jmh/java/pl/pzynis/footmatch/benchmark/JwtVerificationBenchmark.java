@@ -0,0 +1,59 @@
+package pl.pzynis.footmatch.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import pl.pzynis.footmatch.infrastructure.security.JwtClaims;
+import pl.pzynis.footmatch.infrastructure.security.JwtTokenProvider;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-minimum-256-bits-for-hmac-sha";
+
+    private JwtTokenProvider provider;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        provider = new JwtTokenProvider(SECRET, 3_600_000L, 604_800_000L, 10_000);
+        token = provider.generateAccessToken(UUID.randomUUID(), "bench@example.com", "PLAYER");
+        provider.parseAndVerify(token);
+    }
+
+    @Benchmark
+    public String generateAccessToken() {
+        return provider.generateAccessToken(UUID.randomUUID(), "bench@example.com", "PLAYER");
+    }
+
+    @Benchmark
+    public Optional<JwtClaims> cachedParseAndVerify() {
+        return provider.parseAndVerify(token);
+    }
+
+    // Baseline: a fresh provider per call, so parseAndVerify always misses and parses and checks the HMAC.
+    // A size-0 cache isn't one: Caffeine evicts in its maintenance cycle, not on put.
+    @Benchmark
+    public Optional<JwtClaims> fullParseAndVerify(ColdProvider cold) {
+        return cold.provider.parseAndVerify(token);
+    }
+
+    @State(Scope.Thread)
+    public static class ColdProvider {
+
+        private JwtTokenProvider provider;
+
+        // Outside the measured time; a verification takes microseconds, so per-invocation setup doesn't skew it
+        @Setup(Level.Invocation)
+        public void setUp() {
+            provider = new JwtTokenProvider(SECRET, 3_600_000L, 604_800_000L, 10_000);
+        }
+    }
+}
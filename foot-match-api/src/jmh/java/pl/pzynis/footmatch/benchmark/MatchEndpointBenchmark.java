@@ -0,0 +1,86 @@
+package pl.pzynis.footmatch.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Platform vs virtual request threads over HTTP, with more concurrent clients than Tomcat's 200 platform threads
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(400)
+@Fork(1)
+public class MatchEndpointBenchmark {
+
+    private HttpClient client;
+    private List<UUID> matchIds;
+    private BenchmarkServer server;
+
+    @Setup
+    public void setUp(BenchmarkServer server) {
+        this.server = server;
+        matchIds = server.matchIds();
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        client.close();
+    }
+
+    @Benchmark
+    public int listMatches(Responses responses) throws IOException, InterruptedException {
+        return get("/api/matches?status=OPEN&location=orlik&size=20", responses);
+    }
+
+    @Benchmark
+    public int matchDetail(Responses responses) throws IOException, InterruptedException {
+        return get("/api/matches/" + randomMatchId(), responses);
+    }
+
+    @Benchmark
+    public int participants(Responses responses) throws IOException, InterruptedException {
+        return get("/api/matches/" + randomMatchId() + "/participants", responses);
+    }
+
+    private int get(String path, Responses responses) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(server.uri(path)).GET().build();
+        int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (status == 200) {
+            responses.ok++;
+        } else {
+            responses.failed++;
+        }
+        return status;
+    }
+
+    private UUID randomMatchId() {
+        return matchIds.get(ThreadLocalRandom.current().nextInt(matchIds.size()));
+    }
+
+    // Reported next to throughput, so shed (503) requests can't pass for served ones
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Responses {
+
+        public long ok;
+        public long failed;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            ok = 0;
+            failed = 0;
+        }
+    }
+}
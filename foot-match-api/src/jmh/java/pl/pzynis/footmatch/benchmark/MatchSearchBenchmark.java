@@ -0,0 +1,86 @@
+package pl.pzynis.footmatch.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import pl.pzynis.footmatch.api.dto.CursorPageResponse;
+import pl.pzynis.footmatch.api.dto.MatchResponse;
+import pl.pzynis.footmatch.application.service.MatchService;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// 200k extra matches with varied Polish titles and places: GET /api/matches/search over the GIN-indexed
+// tsvector vs. the ILIKE '%word%' scan over title, description and location it replaces
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MatchSearchBenchmark {
+
+    private static final int SEARCH_MATCHES = 200_000;
+    private static final int PAGE_SIZE = 20;
+
+    private static final String SQL_LIKE = """
+            SELECT m.id FROM match m
+            WHERE m.match_date > now() AND %s
+            ORDER BY m.match_date, m.id
+            LIMIT ?
+            """;
+
+    @Param({"orlik", "orlik mokotów", "hala wola wieczorem"})
+    public String query;
+
+    private MatchService matchService;
+    private JdbcTemplate jdbc;
+    private String likeSql;
+    private Object[] likeArgs;
+
+    @Setup
+    public void setUp(BenchmarkDatabase database) {
+        jdbc = database.jdbc();
+        jdbc.update("""
+                INSERT INTO match (organizer_id, title, description, location, match_date, max_players, status)
+                SELECT (SELECT id FROM app_user WHERE role = 'ORGANIZER' ORDER BY email LIMIT 1),
+                       (ARRAY['Mecz', 'Gierka', 'Sparing', 'Turniej', 'Granie'])[1 + g % 5] || ' '
+                           || (ARRAY['poranny', 'wieczorem', 'weekendowy', 'towarzyski', 'ligowy', 'szybki'])[1 + g % 6],
+                       'Zapraszamy ' || (ARRAY['początkujących', 'zaawansowanych', 'wszystkich', 'studentów'])[1 + g % 4]
+                           || ', gramy ' || (ARRAY['na sztucznej trawie', 'na hali', 'na piasku'])[1 + g % 3],
+                       (ARRAY['Orlik', 'Hala', 'Boisko', 'Stadion', 'Balon'])[1 + g % 7 % 5] || ' '
+                           || (ARRAY['Mokotów', 'Wola', 'Praga', 'Bemowo', 'Ursynów', 'Bielany', 'Targówek',
+                                     'Żoliborz', 'Ochota', 'Wawer', 'Białołęka'])[1 + g % 11]
+                           || ', ul. ' || (ARRAY['Puławska', 'Górczewska', 'Grochowska', 'Marszałkowska'])[1 + g % 13 % 4]
+                           || ' ' || g % 200,
+                       now() + (1 + g % 90) * interval '1 day', 14, 'OPEN'
+                FROM generate_series(1, ?) g
+                """, SEARCH_MATCHES);
+        jdbc.execute("ANALYZE match");
+        matchService = database.bean(MatchService.class);
+
+        // Each word has to appear somewhere, as the full-text search requires
+        List<String> words = Arrays.asList(query.split(" "));
+        likeSql = SQL_LIKE.formatted(String.join(" AND ", Collections.nCopies(words.size(),
+                "(m.title ILIKE ? OR m.description ILIKE ? OR m.location ILIKE ?)")));
+        List<Object> args = new ArrayList<>();
+        for (String word : words) {
+            args.addAll(Collections.nCopies(3, "%" + word + "%"));
+        }
+        args.add(PAGE_SIZE);
+        likeArgs = args.toArray();
+    }
+
+    @Benchmark
+    public CursorPageResponse<MatchResponse> fullTextSearch() {
+        return matchService.search(query, null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<UUID> likeScan() {
+        return jdbc.queryForList(likeSql, UUID.class, likeArgs);
+    }
+}
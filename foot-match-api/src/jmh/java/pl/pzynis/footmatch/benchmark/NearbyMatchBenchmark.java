@@ -0,0 +1,85 @@
+package pl.pzynis.footmatch.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import pl.pzynis.footmatch.api.dto.NearbyMatchResponse;
+import pl.pzynis.footmatch.application.service.MatchService;
+import pl.pzynis.footmatch.infrastructure.cache.NearbyMatchIndex;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// 100k upcoming matches spread over Warsaw: GET /api/matches/nearby from the grid index vs. the same radius
+// search as a haversine filter in SQL, which has to compute the distance for every upcoming match
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NearbyMatchBenchmark {
+
+    private static final int GEO_MATCHES = 100_000;
+    private static final int LIMIT = 20;
+
+    // Warsaw, roughly 29 km north-south by 27 km east-west
+    private static final double MIN_LAT = 52.10;
+    private static final double LAT_RANGE = 0.26;
+    private static final double MIN_LNG = 20.85;
+    private static final double LNG_RANGE = 0.40;
+
+    private static final String SQL_NEARBY = """
+            SELECT id FROM (
+                SELECT id, 2 * 6371008.8 * asin(sqrt(
+                           power(sin(radians(latitude - ?) / 2), 2)
+                           + cos(radians(?)) * cos(radians(latitude)) * power(sin(radians(longitude - ?) / 2), 2)
+                       )) AS distance
+                FROM match
+                WHERE status = 'OPEN' AND match_date > now() AND latitude IS NOT NULL
+            ) m
+            WHERE distance <= ?
+            ORDER BY distance
+            LIMIT ?
+            """;
+
+    @Param({"1000", "5000", "20000"})
+    public double radiusMeters;
+
+    private MatchService matchService;
+    private JdbcTemplate jdbc;
+
+    @Setup
+    public void setUp(BenchmarkDatabase database) {
+        jdbc = database.jdbc();
+        jdbc.update("""
+                INSERT INTO match (organizer_id, title, location, match_date, max_players, status, latitude, longitude)
+                SELECT (SELECT id FROM app_user WHERE role = 'ORGANIZER' ORDER BY email LIMIT 1),
+                       'Geo match ' || g, 'Boisko ' || g,
+                       now() + (1 + g % 60) * interval '1 day', 14, 'OPEN',
+                       ? + random() * ?, ? + random() * ?
+                FROM generate_series(1, ?) g
+                """, MIN_LAT, LAT_RANGE, MIN_LNG, LNG_RANGE, GEO_MATCHES);
+        jdbc.execute("ANALYZE match");
+        // The startup rebuild ran before these rows existed
+        database.bean(NearbyMatchIndex.class).rebuild().join();
+        matchService = database.bean(MatchService.class);
+    }
+
+    @Benchmark
+    public List<NearbyMatchResponse> index() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        double lat = MIN_LAT + random.nextDouble() * LAT_RANGE;
+        double lng = MIN_LNG + random.nextDouble() * LNG_RANGE;
+        return matchService.findNearby(lat, lng, radiusMeters, LIMIT);
+    }
+
+    @Benchmark
+    public List<UUID> sqlDistanceFilter() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        double lat = MIN_LAT + random.nextDouble() * LAT_RANGE;
+        double lng = MIN_LNG + random.nextDouble() * LNG_RANGE;
+        return jdbc.queryForList(SQL_NEARBY, UUID.class, lat, lat, lng, radiusMeters, LIMIT);
+    }
+}
@@ -0,0 +1,55 @@
+package pl.pzynis.footmatch.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+// BCrypt cost per strength, on the hardware it runs on. Run main() to pick security.password-hashing.bcrypt-strength:
+// the highest strength whose matches() stays within -Dbcrypt.target-ms (default 250)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class PasswordHashingBenchmark {
+
+    private static final String PASSWORD = "correct horse battery staple";
+
+    @Param({"10", "11", "12", "13"})
+    public int strength;
+
+    private BCryptPasswordEncoder encoder;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        encoder = new BCryptPasswordEncoder(strength);
+        hash = encoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return encoder.matches(PASSWORD, hash);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        double targetMs = Double.parseDouble(System.getProperty("bcrypt.target-ms", "250"));
+        Collection<RunResult> results = new Runner(new OptionsBuilder()
+                .include(PasswordHashingBenchmark.class.getSimpleName() + ".matches")
+                .build()).run();
+
+        int recommended = results.stream()
+                .filter(result -> result.getPrimaryResult().getScore() <= targetMs)
+                .mapToInt(result -> Integer.parseInt(result.getParams().getParam("strength")))
+                .max()
+                .orElse(10);
+        System.out.printf("Recommended bcrypt-strength for a %.0f ms target: %d%n", targetMs, recommended);
+    }
+}
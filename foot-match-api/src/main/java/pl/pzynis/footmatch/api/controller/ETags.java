@@ -0,0 +1,21 @@
+package pl.pzynis.footmatch.api.controller;
+
+import pl.pzynis.footmatch.infrastructure.persistence.projection.MatchListVersion;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+// Strong validators: a match's updated_at (microsecond precision, as stored by Postgres) and a list's fingerprint
+final class ETags {
+
+    private ETags() {
+    }
+
+    static String of(Instant lastModified) {
+        return Long.toHexString(ChronoUnit.MICROS.between(Instant.EPOCH, lastModified));
+    }
+
+    static String of(MatchListVersion version) {
+        return version.count() + "-" + Long.toHexString(version.fingerprint());
+    }
+}
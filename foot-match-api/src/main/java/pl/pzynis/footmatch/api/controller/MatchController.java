@@ -14,13 +14,20 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import pl.pzynis.footmatch.api.dto.*;
 import pl.pzynis.footmatch.application.service.MatchService;
+import pl.pzynis.footmatch.application.service.Versioned;
 import pl.pzynis.footmatch.domain.model.MatchStatus;
+import pl.pzynis.footmatch.infrastructure.persistence.projection.MatchListVersion;
+import pl.pzynis.footmatch.infrastructure.stream.MatchStreamBroadcaster;
 
 import java.time.Instant;
 import java.util.List;
@@ -33,13 +40,15 @@ import java.util.UUID;
 public class MatchController {
 
     private final MatchService matchService;
+    private final MatchStreamBroadcaster matchStreamBroadcaster;
 
     @Operation(
             summary = "Get all matches",
             description = "Returns a paginated list of matches with optional filtering"
     )
     @ApiResponses({
-            @ApiResponse(responseCode = "200", description = "Matches retrieved successfully")
+            @ApiResponse(responseCode = "200", description = "Matches retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Not modified since the ETag sent in If-None-Match")
     })
     @GetMapping
     public ResponseEntity<Page<MatchResponse>> getMatches(
@@ -53,18 +62,166 @@ public class MatchController {
             @RequestParam(required = false) Instant dateFrom,
 
             @PageableDefault(size = 20, sort = "matchDate", direction = Sort.Direction.ASC)
-            Pageable pageable
+            Pageable pageable,
+
+            WebRequest request
+    ) {
+        Versioned<MatchListVersion, Page<MatchResponse>> matches =
+                matchService.findAll(status, location, dateFrom, pageable);
+        String etag = ETags.of(matches.version());
+        if (request.checkNotModified(etag)) {
+            return notModified(etag);
+        }
+
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(etag).body(matches.body());
+    }
+
+    @Operation(
+            summary = "Get match feed",
+            description = "Returns matches ordered by date using cursor pagination. " +
+                    "Pass nextCursor from the previous response to fetch the following page."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Matches retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/feed")
+    public ResponseEntity<CursorPageResponse<MatchResponse>> getMatchFeed(
+            @Parameter(description = "Filter by match status")
+            @RequestParam(required = false) MatchStatus status,
+
+            @Parameter(description = "Filter by location (partial match)")
+            @RequestParam(required = false) String location,
+
+            @Parameter(description = "Filter matches from this date onwards")
+            @RequestParam(required = false) Instant dateFrom,
+
+            @Parameter(description = "Cursor returned as nextCursor by the previous page")
+            @RequestParam(required = false) String cursor,
+
+            @Parameter(description = "Page size (max 100)")
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        CursorPageResponse<MatchResponse> feed = matchService.findFeed(status, location, dateFrom, cursor, size);
+        return ResponseEntity.ok(feed);
+    }
+
+    @Operation(
+            summary = "Find matches near a point",
+            description = "Returns upcoming open matches with coordinates within the radius, nearest first. " +
+                    "Matches without coordinates are not included."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Matches retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Coordinates out of range",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/nearby")
+    public ResponseEntity<List<NearbyMatchResponse>> getNearbyMatches(
+            @Parameter(description = "Latitude of the search point", example = "52.2297")
+            @RequestParam double lat,
+
+            @Parameter(description = "Longitude of the search point", example = "21.0122")
+            @RequestParam double lng,
+
+            @Parameter(description = "Search radius in meters (max 50000)")
+            @RequestParam(defaultValue = "5000") double radius,
+
+            @Parameter(description = "Maximum number of matches (max 100)")
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(matchService.findNearby(lat, lng, radius, size));
+    }
+
+    @Operation(
+            summary = "Search matches",
+            description = "Full-text search over title, location and description of upcoming matches, " +
+                    "most relevant first. Every word must match, as a prefix and regardless of Polish diacritics. " +
+                    "Pass nextCursor from the previous response to fetch the following page."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Matches retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/search")
+    public ResponseEntity<CursorPageResponse<MatchResponse>> searchMatches(
+            @Parameter(description = "Search words", example = "orlik mokotów")
+            @RequestParam String q,
+
+            @Parameter(description = "Cursor returned as nextCursor by the previous page")
+            @RequestParam(required = false) String cursor,
+
+            @Parameter(description = "Page size (max 100)")
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(matchService.search(q, cursor, size));
+    }
+
+    @Operation(
+            summary = "Stream open matches",
+            description = "Server-Sent Events. A 'match' event (MatchStateResponse) follows every change of any match, " +
+                    "including new ones; drop matches whose status is no longer OPEN. " +
+                    "A 'deleted' event carries the ID of a removed match. Comment lines are heartbeats."
+    )
+    @ApiResponse(responseCode = "200", description = "Event stream opened",
+            content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                    schema = @Schema(implementation = MatchStateResponse.class)))
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamMatches() {
+        return matchStreamBroadcaster.subscribeFeed();
+    }
+
+    @Operation(
+            summary = "Get my matches",
+            description = "Returns matches the current user organizes or has joined, with the user's participant status"
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Matches retrieved successfully"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @SecurityRequirement(name = "Bearer Authentication")
+    @GetMapping("/mine")
+    public ResponseEntity<Page<MyMatchResponse>> getMyMatches(
+            @PageableDefault(size = 20) Pageable pageable,
+            @AuthenticationPrincipal UUID userId
     ) {
-        Page<MatchResponse> matches = matchService.findAll(status, location, dateFrom, pageable);
+        Page<MyMatchResponse> matches = matchService.findMine(userId, pageable);
         return ResponseEntity.ok(matches);
     }
 
+    @Operation(
+            summary = "Stream match state",
+            description = "Server-Sent Events. Starts with the current state, then sends a 'match' event " +
+                    "(MatchStateResponse) after every change and a 'deleted' event if the match is removed. " +
+                    "Comment lines are heartbeats."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Event stream opened",
+                    content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                            schema = @Schema(implementation = MatchStateResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Match not found", content = @Content)
+    })
+    @GetMapping(value = "/{id}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamMatch(
+            @Parameter(description = "Match ID")
+            @PathVariable UUID id
+    ) {
+        // No MatchNotFoundException here: its JSON body can't be written to a text/event-stream request
+        return matchStreamBroadcaster.subscribe(id)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
     @Operation(
             summary = "Get match by ID",
             description = "Returns detailed information about a specific match"
     )
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Match found"),
+            @ApiResponse(responseCode = "304", description = "Not modified since the ETag sent in If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Match not found",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
@@ -74,7 +231,11 @@ public class MatchController {
             @PathVariable UUID id
     ) {
         MatchResponse match = matchService.findById(id);
-        return ResponseEntity.ok(match);
+        // Spring answers a matching If-None-Match with 304 itself, without serializing the body
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(ETags.of(match.updatedAt()))
+                .body(match);
     }
 
     @Operation(
@@ -100,6 +261,30 @@ public class MatchController {
         return ResponseEntity.status(HttpStatus.CREATED).body(match);
     }
 
+    @Operation(
+            summary = "Create a recurring match series",
+            description = "Creates the template match and its repetitions every intervalDays days, in one request. " +
+                    "Only organizers can create matches."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "201", description = "Matches created successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid input data",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Forbidden - not an organizer",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @SecurityRequirement(name = "Bearer Authentication")
+    @PostMapping("/series")
+    public ResponseEntity<List<MatchResponse>> createMatchSeries(
+            @Valid @RequestBody CreateMatchSeriesRequest request,
+            @AuthenticationPrincipal UUID userId
+    ) {
+        List<MatchResponse> matches = matchService.createSeries(request, userId);
+        return ResponseEntity.status(HttpStatus.CREATED).body(matches);
+    }
+
     @Operation(
             summary = "Update a match",
             description = "Updates an existing match. Only the match organizer can update it."
@@ -203,16 +388,24 @@ public class MatchController {
     )
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Participants retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Not modified since the ETag sent in If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Match not found",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @GetMapping("/{id}/participants")
     public ResponseEntity<List<ParticipantResponse>> getParticipants(
             @Parameter(description = "Match ID")
-            @PathVariable UUID id
+            @PathVariable UUID id,
+
+            WebRequest request
     ) {
-        List<ParticipantResponse> participants = matchService.getParticipants(id);
-        return ResponseEntity.ok(participants);
+        Versioned<Instant, List<ParticipantResponse>> participants = matchService.getParticipants(id);
+        String etag = ETags.of(participants.version());
+        if (request.checkNotModified(etag)) {
+            return notModified(etag);
+        }
+
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(etag).body(participants.body());
     }
 
     @Operation(
@@ -245,4 +438,43 @@ public class MatchController {
         ParticipantResponse participant = matchService.updateParticipantStatus(id, playerId, request.status(), userId);
         return ResponseEntity.ok(participant);
     }
+
+    @Operation(
+            summary = "Update several participants' status",
+            description = "Accepts or rejects several participants in one transaction. Either every decision " +
+                    "is applied or none is. Only the match organizer can update status."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Participant statuses updated"),
+            @ApiResponse(responseCode = "400", description = "Invalid input data",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Forbidden - not the organizer",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Match or participant not found",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "409", description = "Not enough free slots for all accepts",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @SecurityRequirement(name = "Bearer Authentication")
+    @PutMapping("/{id}/participants")
+    public ResponseEntity<List<ParticipantResponse>> updateParticipantStatuses(
+            @Parameter(description = "Match ID")
+            @PathVariable UUID id,
+
+            @Valid @RequestBody BulkParticipantStatusRequest request,
+            @AuthenticationPrincipal UUID userId
+    ) {
+        List<ParticipantResponse> participants = matchService.updateParticipantStatuses(id, request.decisions(), userId);
+        return ResponseEntity.ok(participants);
+    }
+
+    // no-cache: clients may keep the body but must revalidate it with If-None-Match every time
+    private static <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .cacheControl(CacheControl.noCache())
+                .eTag(etag)
+                .build();
+    }
 }
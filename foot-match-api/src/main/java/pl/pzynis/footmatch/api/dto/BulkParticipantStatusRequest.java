@@ -0,0 +1,31 @@
+package pl.pzynis.footmatch.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import pl.pzynis.footmatch.domain.model.ParticipantStatus;
+
+import java.util.List;
+import java.util.UUID;
+
+@Schema(description = "Request to update several participants of one match at once")
+public record BulkParticipantStatusRequest(
+    @Schema(description = "Decisions to apply; all succeed or none do. A repeated player keeps the last decision.")
+    @NotEmpty(message = "At least one decision is required")
+    @Size(max = 50, message = "At most 50 decisions per request")
+    List<@Valid @NotNull Decision> decisions
+) {
+
+    @Schema(description = "New status for one participant")
+    public record Decision(
+        @Schema(description = "Player ID", example = "550e8400-e29b-41d4-a716-446655440000")
+        @NotNull(message = "Player ID is required")
+        UUID playerId,
+
+        @Schema(description = "New participant status", example = "ACCEPTED")
+        @NotNull(message = "Status is required")
+        ParticipantStatus status
+    ) {}
+}
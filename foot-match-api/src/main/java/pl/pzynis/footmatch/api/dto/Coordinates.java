@@ -0,0 +1,21 @@
+package pl.pzynis.footmatch.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+
+@Schema(description = "WGS84 coordinates")
+public record Coordinates(
+    @Schema(description = "Latitude in degrees", example = "52.1935")
+    @NotNull(message = "Latitude is required")
+    @DecimalMin(value = "-90", message = "Latitude must be between -90 and 90")
+    @DecimalMax(value = "90", message = "Latitude must be between -90 and 90")
+    Double latitude,
+
+    @Schema(description = "Longitude in degrees", example = "21.0345")
+    @NotNull(message = "Longitude is required")
+    @DecimalMin(value = "-180", message = "Longitude must be between -180 and 180")
+    @DecimalMax(value = "180", message = "Longitude must be between -180 and 180")
+    Double longitude
+) {}
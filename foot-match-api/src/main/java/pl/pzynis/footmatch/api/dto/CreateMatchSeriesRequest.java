@@ -0,0 +1,25 @@
+package pl.pzynis.footmatch.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+@Schema(description = "Request to create a recurring series of matches")
+public record CreateMatchSeriesRequest(
+    @Schema(description = "First match of the series; later ones copy it with a shifted date")
+    @NotNull(message = "Template is required")
+    @Valid
+    CreateMatchRequest template,
+
+    @Schema(description = "Number of matches to create", example = "12", minimum = "1", maximum = "104")
+    @Min(value = 1, message = "At least 1 occurrence required")
+    @Max(value = 104, message = "Maximum 104 occurrences allowed")
+    int occurrences,
+
+    @Schema(description = "Days between consecutive matches", example = "7", minimum = "1", maximum = "365")
+    @Min(value = 1, message = "Interval must be at least 1 day")
+    @Max(value = 365, message = "Interval must be at most 365 days")
+    int intervalDays
+) {}
@@ -0,0 +1,21 @@
+package pl.pzynis.footmatch.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Forward-only page of results addressed by an opaque cursor")
+public record CursorPageResponse<T>(
+    @Schema(description = "Page items")
+    List<T> content,
+
+    @Schema(description = "Cursor of the next page, absent on the last page", example = "MjAyNC0xMi0yMFQxODowMDowMFp8NTUwZTg0MDAtZTI5Yi00MWQ0LWE3MTYtNDQ2NjU1NDQwMDAw")
+    String nextCursor,
+
+    @Schema(description = "Whether another page is available", example = "true")
+    boolean hasNext
+) {
+    public CursorPageResponse(List<T> content, String nextCursor) {
+        this(content, nextCursor, nextCursor != null);
+    }
+}
@@ -36,5 +36,8 @@ public record MatchResponse(
     UserSummaryResponse organizer,
 
     @Schema(description = "Match creation timestamp")
-    Instant createdAt
+    Instant createdAt,
+
+    @Schema(description = "Last change to the match or its participants (creation time if never changed)")
+    Instant updatedAt
 ) {}
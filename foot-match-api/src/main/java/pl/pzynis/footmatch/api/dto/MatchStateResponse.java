@@ -0,0 +1,25 @@
+package pl.pzynis.footmatch.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import pl.pzynis.footmatch.domain.model.MatchStatus;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Schema(description = "Live match state pushed on the match streams")
+public record MatchStateResponse(
+    @Schema(description = "Match unique identifier", example = "550e8400-e29b-41d4-a716-446655440000")
+    UUID matchId,
+
+    @Schema(description = "Current number of accepted players", example = "6")
+    int currentPlayers,
+
+    @Schema(description = "Maximum number of players", example = "10")
+    int maxPlayers,
+
+    @Schema(description = "Match status", example = "OPEN")
+    MatchStatus status,
+
+    @Schema(description = "Last change to the match or its participants")
+    Instant updatedAt
+) {}
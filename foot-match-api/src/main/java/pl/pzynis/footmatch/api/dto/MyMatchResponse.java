@@ -0,0 +1,16 @@
+package pl.pzynis.footmatch.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import pl.pzynis.footmatch.domain.model.ParticipantStatus;
+
+@Schema(description = "Match the current user organizes or has joined")
+public record MyMatchResponse(
+    @Schema(description = "Match information")
+    MatchResponse match,
+
+    @Schema(description = "Whether the current user organizes this match", example = "false")
+    boolean organizer,
+
+    @Schema(description = "Current user's participant status, absent for the organizer", example = "PENDING")
+    ParticipantStatus participantStatus
+) {}
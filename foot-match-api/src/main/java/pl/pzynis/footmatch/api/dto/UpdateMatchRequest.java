@@ -1,6 +1,7 @@
 package pl.pzynis.footmatch.api.dto;
 
 import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.*;
 
 import java.time.LocalDateTime;
@@ -29,5 +30,9 @@ public record UpdateMatchRequest(
     @Schema(description = "Maximum number of players", example = "10", minimum = "2", maximum = "50")
     @Min(value = 2, message = "Minimum 2 players required")
     @Max(value = 50, message = "Maximum 50 players allowed")
-    int maxPlayers
+    int maxPlayers,
+
+    @Schema(description = "Pitch coordinates; matches without them don't appear in nearby search")
+    @Valid
+    Coordinates coordinates
 ) {}
@@ -0,0 +1,65 @@
+package pl.pzynis.footmatch.application.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
+import pl.pzynis.footmatch.infrastructure.persistence.repository.MatchRepository;
+
+import java.util.List;
+import java.util.UUID;
+
+// Repairs accepted_count drift on upcoming matches, chunkSize rows per transaction: the chunk's match rows are
+// locked first and counted afterwards, so a slot reserved concurrently is never overwritten with a stale count.
+// Nodes running it at the same time skip each other's locked rows.
+@Slf4j
+@Service
+public class AcceptedCountReconciliationService {
+
+    private static final UUID FIRST_ID = new UUID(0, 0);
+
+    private final MatchRepository matchRepository;
+    private final TransactionOperations transactionOperations;
+    private final int chunkSize;
+
+    public AcceptedCountReconciliationService(
+            MatchRepository matchRepository,
+            TransactionOperations transactionOperations,
+            @Value("${match.accepted-count-reconciliation.chunk-size:1000}") int chunkSize) {
+        this.matchRepository = matchRepository;
+        this.transactionOperations = transactionOperations;
+        this.chunkSize = chunkSize;
+    }
+
+    @Scheduled(cron = "${match.accepted-count-reconciliation.cron:0 */15 * * * *}")
+    public int reconcile() {
+        int repaired = 0;
+        UUID after = FIRST_ID;
+        Chunk chunk;
+        do {
+            chunk = reconcileAfter(after);
+            repaired += chunk.repaired();
+            after = chunk.lastId();
+        } while (chunk.locked() == chunkSize);
+
+        if (repaired > 0) {
+            log.warn("Repaired accepted_count drift on {} match(es)", repaired);
+        }
+        return repaired;
+    }
+
+    private Chunk reconcileAfter(UUID after) {
+        return transactionOperations.execute(status -> {
+            List<UUID> locked = matchRepository.lockUpcomingAfter(after, chunkSize);
+            if (locked.isEmpty()) {
+                return new Chunk(0, after, 0);
+            }
+            int repaired = matchRepository.reconcileAcceptedCounts(locked);
+            return new Chunk(locked.size(), locked.getLast(), repaired);
+        });
+    }
+
+    private record Chunk(int locked, UUID lastId, int repaired) {
+    }
+}
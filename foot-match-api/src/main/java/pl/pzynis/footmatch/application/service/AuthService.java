@@ -1,9 +1,8 @@
 package pl.pzynis.footmatch.application.service;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import pl.pzynis.footmatch.api.dto.AuthResponse;
 import pl.pzynis.footmatch.api.dto.LoginRequest;
 import pl.pzynis.footmatch.api.dto.RegisterRequest;
@@ -12,17 +11,24 @@ import pl.pzynis.footmatch.domain.exception.EmailAlreadyExistsException;
 import pl.pzynis.footmatch.domain.exception.InvalidCredentialsException;
 import pl.pzynis.footmatch.infrastructure.persistence.entity.UserEntity;
 import pl.pzynis.footmatch.infrastructure.persistence.repository.UserRepository;
+import pl.pzynis.footmatch.infrastructure.persistence.routing.PrimaryReads;
 import pl.pzynis.footmatch.infrastructure.security.JwtTokenProvider;
+import pl.pzynis.footmatch.infrastructure.security.LoginThrottle;
+import pl.pzynis.footmatch.infrastructure.security.PasswordHasher;
+
+import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 public class AuthService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
     private final JwtTokenProvider jwtTokenProvider;
+    private final LoginThrottle loginThrottle;
 
-    @Transactional
+    // Not transactional: BCrypt runs before any connection is taken and only the save holds one. The unique
+    // email constraint catches a concurrent registration the check above missed.
     public AuthResponse register(RegisterRequest request) {
         if (userRepository.existsByEmail(request.email())) {
             throw new EmailAlreadyExistsException(request.email());
@@ -30,34 +36,46 @@ public class AuthService {
 
         UserEntity user = UserEntity.builder()
                 .email(request.email())
-                .passwordHash(passwordEncoder.encode(request.password()))
+                .passwordHash(passwordHasher.encode(request.password()))
                 .name(request.name())
                 .role(request.role())
                 .build();
 
-        user = userRepository.save(user);
+        try {
+            user = userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            throw new EmailAlreadyExistsException(request.email());
+        }
 
         return generateAuthResponse(user);
     }
 
-    public AuthResponse login(LoginRequest request) {
-        UserEntity user = userRepository.findByEmail(request.email())
-                .orElseThrow(() -> new InvalidCredentialsException());
+    public AuthResponse login(LoginRequest request, String clientAddress) {
+        loginThrottle.checkAllowed(request.email(), clientAddress);
 
-        if (!passwordEncoder.matches(request.password(), user.getPasswordHash())) {
+        UserEntity user = PrimaryReads.call(() -> userRepository.findByEmail(request.email())).orElse(null);
+        String passwordHash = user != null ? user.getPasswordHash() : null;
+        if (user == null || !passwordHasher.matches(request.password(), passwordHash)) {
+            loginThrottle.recordFailure(request.email(), clientAddress);
             throw new InvalidCredentialsException();
         }
+        loginThrottle.recordSuccess(request.email());
+
+        // Moves the hash to the configured BCrypt cost while the plain password is at hand
+        if (passwordHasher.upgradeEncoding(passwordHash)) {
+            UUID userId = user.getId();
+            passwordHasher.rehashLater(request.password(),
+                    newHash -> userRepository.updatePasswordHash(userId, passwordHash, newHash));
+        }
 
         return generateAuthResponse(user);
     }
 
     public AuthResponse refreshToken(String refreshToken) {
-        if (!jwtTokenProvider.validateToken(refreshToken)) {
-            throw new InvalidCredentialsException();
-        }
+        var claims = jwtTokenProvider.parseAndVerify(refreshToken)
+                .orElseThrow(() -> new InvalidCredentialsException());
 
-        var userId = jwtTokenProvider.getUserIdFromToken(refreshToken);
-        UserEntity user = userRepository.findById(userId)
+        UserEntity user = PrimaryReads.call(() -> userRepository.findById(claims.userId()))
                 .orElseThrow(() -> new InvalidCredentialsException());
 
         return generateAuthResponse(user);
@@ -0,0 +1,85 @@
+package pl.pzynis.footmatch.application.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import pl.pzynis.footmatch.domain.event.MatchChangedEvent;
+import pl.pzynis.footmatch.infrastructure.persistence.repository.MatchRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+// Moves matches that have been played to COMPLETED, so OPEN/CLOSED hold only upcoming ones. Every chunk is one
+// set-based UPDATE committed on its own, keeping row locks short; nodes running it at the same time take
+// disjoint chunks. It bypasses MatchService, so it publishes the change events itself once each chunk commits.
+@Slf4j
+@Service
+public class MatchCompletionService {
+
+    private final MatchRepository matchRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration grace;
+    private final int chunkSize;
+    private final int maxChunksPerRun;
+    private final Counter completed;
+    private final Counter chunks;
+    private final Timer runs;
+
+    public MatchCompletionService(
+            MatchRepository matchRepository,
+            ApplicationEventPublisher eventPublisher,
+            MeterRegistry meterRegistry,
+            @Value("${match.completion.grace:2h}") Duration grace,
+            @Value("${match.completion.chunk-size:1000}") int chunkSize,
+            @Value("${match.completion.max-chunks-per-run:100}") int maxChunksPerRun) {
+        this.matchRepository = matchRepository;
+        this.eventPublisher = eventPublisher;
+        this.grace = grace;
+        this.chunkSize = chunkSize;
+        this.maxChunksPerRun = maxChunksPerRun;
+        this.completed = Counter.builder("match.completion.matches")
+                .description("Matches moved to COMPLETED")
+                .register(meterRegistry);
+        this.chunks = Counter.builder("match.completion.chunks")
+                .description("Chunks of matches moved to COMPLETED")
+                .register(meterRegistry);
+        this.runs = Timer.builder("match.completion.runs")
+                .description("Runs of the match completion job")
+                .register(meterRegistry);
+    }
+
+    // A run stops at the first chunk that isn't full or after maxChunksPerRun; a larger backlog is left
+    // for the next run instead of holding the scheduler thread
+    @Scheduled(cron = "${match.completion.cron:0 */5 * * * *}")
+    public int completePastMatches() {
+        return runs.record(() -> {
+            Instant cutoff = Instant.now().minus(grace);
+            int total = 0;
+            for (int chunk = 0; chunk < maxChunksPerRun; chunk++) {
+                // Outside any transaction: the chunk has committed by the time the listeners run
+                List<UUID> completedIds = matchRepository.completeStartedBefore(cutoff, chunkSize);
+                completedIds.forEach(id -> eventPublisher.publishEvent(MatchChangedEvent.updated(id)));
+                int updated = completedIds.size();
+                if (updated > 0) {
+                    chunks.increment();
+                    completed.increment(updated);
+                    total += updated;
+                }
+                if (updated < chunkSize) {
+                    break;
+                }
+            }
+            if (total > 0) {
+                log.info("Completed {} match(es) that started before {}", total, cutoff);
+            }
+            return total;
+        });
+    }
+}
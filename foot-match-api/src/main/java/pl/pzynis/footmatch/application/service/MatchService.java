@@ -1,24 +1,43 @@
 package pl.pzynis.footmatch.application.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import pl.pzynis.footmatch.api.dto.*;
+import pl.pzynis.footmatch.domain.event.MatchChangedEvent;
 import pl.pzynis.footmatch.domain.exception.*;
 import pl.pzynis.footmatch.domain.model.MatchStatus;
 import pl.pzynis.footmatch.domain.model.ParticipantStatus;
+import pl.pzynis.footmatch.infrastructure.cache.MatchDetailCache;
+import pl.pzynis.footmatch.infrastructure.cache.NearbyMatchIndex;
+import pl.pzynis.footmatch.infrastructure.metrics.MatchMetrics;
 import pl.pzynis.footmatch.infrastructure.persistence.entity.MatchEntity;
 import pl.pzynis.footmatch.infrastructure.persistence.entity.MatchParticipantEntity;
 import pl.pzynis.footmatch.infrastructure.persistence.entity.UserEntity;
+import pl.pzynis.footmatch.infrastructure.persistence.projection.MatchGeoItem;
+import pl.pzynis.footmatch.infrastructure.persistence.projection.MatchListItem;
+import pl.pzynis.footmatch.infrastructure.persistence.projection.MatchListVersion;
+import pl.pzynis.footmatch.infrastructure.persistence.projection.MatchSearchView;
+import pl.pzynis.footmatch.infrastructure.persistence.projection.MyMatchView;
 import pl.pzynis.footmatch.infrastructure.persistence.repository.MatchParticipantRepository;
 import pl.pzynis.footmatch.infrastructure.persistence.repository.MatchRepository;
 import pl.pzynis.footmatch.infrastructure.persistence.repository.UserRepository;
+import pl.pzynis.footmatch.infrastructure.persistence.routing.PrimaryReads;
 
 import java.time.Instant;
+import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Service
@@ -26,41 +45,143 @@ import java.util.UUID;
 @Transactional
 public class MatchService {
 
+    private static final int MAX_FEED_PAGE_SIZE = 100;
+    private static final int MAX_NEARBY_RESULTS = 100;
+    private static final double MAX_NEARBY_RADIUS_METERS = 50_000;
+
     private final MatchRepository matchRepository;
     private final MatchParticipantRepository participantRepository;
     private final UserRepository userRepository;
+    private final MatchDetailCache matchDetailCache;
+    private final NearbyMatchIndex nearbyMatchIndex;
+    private final MatchMetrics matchMetrics;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // The version is derived from the page itself, so it can't describe another state than the body
+    @Transactional(readOnly = true)
+    public Versioned<MatchListVersion, Page<MatchResponse>> findAll(
+            MatchStatus status,
+            String location,
+            Instant dateFrom,
+            Pageable pageable
+    ) {
+        Page<MatchListItem> matches = matchRepository.findWithFilters(status, location, dateFrom, pageable);
+        return new Versioned<>(MatchListVersion.of(matches), matches.map(this::toMatchResponse));
+    }
 
     @Transactional(readOnly = true)
-    public Page<MatchResponse> findAll(MatchStatus status, String location, Instant dateFrom, Pageable pageable) {
-        return matchRepository.findWithFilters(status, location, dateFrom, pageable)
-                .map(this::toMatchResponse);
+    public CursorPageResponse<MatchResponse> findFeed(
+            MatchStatus status,
+            String location,
+            Instant dateFrom,
+            String cursor,
+            int size
+    ) {
+        int pageSize = Math.clamp(size, 1, MAX_FEED_PAGE_SIZE);
+        MatchCursor after = cursor != null ? MatchCursor.decode(cursor) : null;
+
+        List<MatchListItem> matches = matchRepository.findFeed(
+                status,
+                location,
+                dateFrom,
+                after != null ? after.matchDate() : null,
+                after != null ? after.id() : null,
+                pageSize + 1
+        );
+
+        boolean hasNext = matches.size() > pageSize;
+        List<MatchListItem> page = hasNext ? matches.subList(0, pageSize) : matches;
+        String nextCursor = null;
+        if (hasNext) {
+            MatchListItem last = page.getLast();
+            nextCursor = new MatchCursor(last.matchDate(), last.id()).encode();
+        }
+
+        return new CursorPageResponse<>(page.stream().map(this::toMatchResponse).toList(), nextCursor);
+    }
+
+    // Upcoming matches whose title, location or description contain every word of the query, most relevant first
+    @Transactional(readOnly = true)
+    public CursorPageResponse<MatchResponse> search(String text, String cursor, int size) {
+        int pageSize = Math.clamp(size, 1, MAX_FEED_PAGE_SIZE);
+        SearchCursor after = cursor != null ? SearchCursor.decode(cursor) : null;
+
+        List<MatchSearchView> matches = matchRepository.search(
+                text,
+                after != null ? after.rank() : null,
+                after != null ? after.id() : null,
+                pageSize + 1
+        );
+
+        boolean hasNext = matches.size() > pageSize;
+        List<MatchSearchView> page = hasNext ? matches.subList(0, pageSize) : matches;
+        String nextCursor = null;
+        if (hasNext) {
+            MatchSearchView last = page.getLast();
+            nextCursor = new SearchCursor(last.getRank(), last.getId()).encode();
+        }
+
+        return new CursorPageResponse<>(page.stream().map(this::toMatchResponse).toList(), nextCursor);
+    }
+
+    // Served from the in-memory index, no transaction or connection needed
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<NearbyMatchResponse> findNearby(double latitude, double longitude, double radiusMeters, int size) {
+        if (!(Math.abs(latitude) <= 90) || !(Math.abs(longitude) <= 180)) {
+            throw new InvalidCoordinatesException(latitude, longitude);
+        }
+        double radius = radiusMeters > 1 ? Math.min(radiusMeters, MAX_NEARBY_RADIUS_METERS) : 1;
+        int limit = Math.clamp(size, 1, MAX_NEARBY_RESULTS);
+        return nearbyMatchIndex.findNearby(latitude, longitude, radius, limit).stream()
+                .map(this::toNearbyMatchResponse)
+                .toList();
     }
 
     @Transactional(readOnly = true)
+    public Page<MyMatchResponse> findMine(UUID userId, Pageable pageable) {
+        // The native query defines its own ordering
+        Pageable unsorted = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        return matchRepository.findMine(userId, unsorted)
+                .map(this::toMyMatchResponse);
+    }
+
+    // A cache hit needs no transaction (and no connection); a miss fetches the organizer in the same query
+    @Transactional(propagation = Propagation.SUPPORTS)
     public MatchResponse findById(UUID matchId) {
-        MatchEntity match = matchRepository.findById(matchId)
-                .orElseThrow(() -> new MatchNotFoundException(matchId));
-        return toMatchResponse(match);
+        return matchDetailCache.get(matchId, id -> PrimaryReads.call(() -> matchRepository.findWithOrganizerById(id))
+                .map(this::toMatchResponse)
+                .orElseThrow(() -> new MatchNotFoundException(id)));
     }
 
     public MatchResponse create(CreateMatchRequest request, UUID organizerId) {
         UserEntity organizer = userRepository.findById(organizerId)
                 .orElseThrow(() -> new RuntimeException("User not found: " + organizerId));
 
-        MatchEntity match = MatchEntity.builder()
-                .organizer(organizer)
-                .title(request.title())
-                .description(request.description())
-                .location(request.location())
-                .matchDate(request.matchDate().toInstant(ZoneOffset.UTC))
-                .maxPlayers(request.maxPlayers())
-                .status(MatchStatus.OPEN)
-                .build();
-
-        MatchEntity saved = matchRepository.save(match);
+        MatchEntity saved = matchRepository.save(newMatch(request, request.matchDate(), organizer));
+        eventPublisher.publishEvent(MatchChangedEvent.created(saved.getId()));
         return toMatchResponse(saved);
     }
 
+    // IDs are generated in Java, so the persists are queued and flushed as JDBC batches at commit
+    // (hibernate.jdbc.batch_size) instead of one round trip per match
+    public List<MatchResponse> createSeries(CreateMatchSeriesRequest request, UUID organizerId) {
+        UserEntity organizer = userRepository.findById(organizerId)
+                .orElseThrow(() -> new RuntimeException("User not found: " + organizerId));
+
+        CreateMatchRequest template = request.template();
+        List<MatchEntity> matches = new ArrayList<>(request.occurrences());
+        for (int i = 0; i < request.occurrences(); i++) {
+            LocalDateTime matchDate = template.matchDate().plusDays((long) i * request.intervalDays());
+            matches.add(newMatch(template, matchDate, organizer));
+        }
+
+        List<MatchEntity> saved = matchRepository.saveAll(matches);
+        saved.forEach(match -> eventPublisher.publishEvent(MatchChangedEvent.created(match.getId())));
+        return saved.stream()
+                .map(this::toMatchResponse)
+                .toList();
+    }
+
     public MatchResponse update(UUID matchId, UpdateMatchRequest request, UUID userId) {
         MatchEntity match = matchRepository.findById(matchId)
                 .orElseThrow(() -> new MatchNotFoundException(matchId));
@@ -74,8 +195,11 @@ public class MatchService {
         match.setLocation(request.location());
         match.setMatchDate(request.matchDate().toInstant(ZoneOffset.UTC));
         match.setMaxPlayers(request.maxPlayers());
+        match.setLatitude(request.coordinates() != null ? request.coordinates().latitude() : null);
+        match.setLongitude(request.coordinates() != null ? request.coordinates().longitude() : null);
 
         MatchEntity saved = matchRepository.save(match);
+        eventPublisher.publishEvent(MatchChangedEvent.updated(matchId));
         return toMatchResponse(saved);
     }
 
@@ -88,6 +212,7 @@ public class MatchService {
         }
 
         matchRepository.delete(match);
+        eventPublisher.publishEvent(MatchChangedEvent.deleted(matchId));
     }
 
     public void cancelMatch(UUID matchId, UUID userId) {
@@ -100,6 +225,7 @@ public class MatchService {
 
         match.setStatus(MatchStatus.CANCELLED);
         matchRepository.save(match);
+        eventPublisher.publishEvent(MatchChangedEvent.updated(matchId));
     }
 
     public ParticipantResponse joinMatch(UUID matchId, UUID playerId) {
@@ -118,8 +244,8 @@ public class MatchService {
             throw new AlreadyJoinedException(matchId, playerId);
         }
 
-        int currentParticipants = participantRepository.countByMatchIdAndStatus(matchId, ParticipantStatus.ACCEPTED);
-        if (currentParticipants >= match.getMaxPlayers()) {
+        if (match.getAcceptedCount() >= match.getMaxPlayers()) {
+            matchMetrics.rejectedFullOnJoin();
             throw new MatchFullException(matchId);
         }
 
@@ -132,26 +258,42 @@ public class MatchService {
                 .status(ParticipantStatus.PENDING)
                 .build();
 
-        MatchParticipantEntity saved = participantRepository.save(participant);
-        return toParticipantResponse(saved);
+        // The unique (match_id, player_id) constraint catches a concurrent double join the check above missed
+        try {
+            MatchParticipantEntity saved = participantRepository.saveAndFlush(participant);
+            matchRepository.touch(matchId);
+            eventPublisher.publishEvent(MatchChangedEvent.participantsChanged(matchId));
+            matchMetrics.joined();
+            return toParticipantResponse(saved);
+        } catch (DataIntegrityViolationException e) {
+            throw new AlreadyJoinedException(matchId, playerId);
+        }
     }
 
     public void leaveMatch(UUID matchId, UUID playerId) {
-        MatchParticipantEntity participant = participantRepository.findByMatchIdAndPlayerId(matchId, playerId)
+        MatchParticipantEntity participant = participantRepository.findLockedByMatchIdAndPlayerId(matchId, playerId)
                 .orElseThrow(() -> new RuntimeException("Participant not found"));
 
+        if (participant.getStatus() == ParticipantStatus.ACCEPTED) {
+            matchRepository.releaseSlot(matchId);
+        } else {
+            matchRepository.touch(matchId);
+        }
+
         participantRepository.delete(participant);
+        eventPublisher.publishEvent(MatchChangedEvent.participantsChanged(matchId));
     }
 
+    // Participant changes bump the match's updated_at, so it versions the participant list as well
     @Transactional(readOnly = true)
-    public List<ParticipantResponse> getParticipants(UUID matchId) {
-        if (!matchRepository.existsById(matchId)) {
-            throw new MatchNotFoundException(matchId);
-        }
+    public Versioned<Instant, List<ParticipantResponse>> getParticipants(UUID matchId) {
+        Instant lastModified = matchRepository.findLastModifiedById(matchId)
+                .orElseThrow(() -> new MatchNotFoundException(matchId));
 
-        return participantRepository.findByMatchIdWithPlayer(matchId).stream()
+        List<ParticipantResponse> participants = participantRepository.findByMatchIdWithPlayer(matchId).stream()
                 .map(this::toParticipantResponse)
                 .toList();
+        return new Versioned<>(lastModified, participants);
     }
 
     public ParticipantResponse updateParticipantStatus(UUID matchId, UUID playerId, ParticipantStatus status, UUID organizerId) {
@@ -162,32 +304,102 @@ public class MatchService {
             throw new UnauthorizedAccessException("Only the organizer can update participant status");
         }
 
-        MatchParticipantEntity participant = participantRepository.findByMatchIdAndPlayerId(matchId, playerId)
+        MatchParticipantEntity participant = participantRepository.findLockedByMatchIdAndPlayerId(matchId, playerId)
                 .orElseThrow(() -> new RuntimeException("Participant not found"));
 
-        if (status == ParticipantStatus.ACCEPTED) {
-            int currentAccepted = participantRepository.countByMatchIdAndStatus(matchId, ParticipantStatus.ACCEPTED);
-            if (currentAccepted >= match.getMaxPlayers()) {
+        boolean wasAccepted = participant.getStatus() == ParticipantStatus.ACCEPTED;
+        boolean isAccepted = status == ParticipantStatus.ACCEPTED;
+
+        // reserveSlot also auto-closes the match when it takes the last slot
+        if (isAccepted && !wasAccepted) {
+            Boolean closedNow = matchRepository.reserveSlot(matchId).orElse(null);
+            if (closedNow == null) {
+                matchMetrics.rejectedFullOnAccept();
                 throw new MatchFullException(matchId);
             }
+            matchMetrics.accepted();
+            // Only the reservation that moved the match from OPEN to CLOSED filled it
+            if (closedNow) {
+                matchMetrics.filled(match.getCreatedAt());
+            }
+        } else if (wasAccepted && !isAccepted) {
+            matchRepository.releaseSlot(matchId);
+        } else {
+            matchRepository.touch(matchId);
         }
 
         participant.setStatus(status);
         MatchParticipantEntity saved = participantRepository.save(participant);
+        eventPublisher.publishEvent(MatchChangedEvent.participantsChanged(matchId));
+        return toParticipantResponse(saved);
+    }
 
-        // Auto-close match if full
-        int newAccepted = participantRepository.countByMatchIdAndStatus(matchId, ParticipantStatus.ACCEPTED);
-        if (newAccepted >= match.getMaxPlayers()) {
-            match.setStatus(MatchStatus.CLOSED);
-            matchRepository.save(match);
+    // One lock query, one capacity statement and one event for the whole batch. Accepts and un-accepts are
+    // netted into a single reserve or release, so the auto-close decision is taken once.
+    public List<ParticipantResponse> updateParticipantStatuses(
+            UUID matchId, List<BulkParticipantStatusRequest.Decision> decisions, UUID organizerId) {
+        MatchEntity match = matchRepository.findById(matchId)
+                .orElseThrow(() -> new MatchNotFoundException(matchId));
+
+        if (!match.getOrganizer().getId().equals(organizerId)) {
+            throw new UnauthorizedAccessException("Only the organizer can update participant status");
         }
 
-        return toParticipantResponse(saved);
-    }
+        Map<UUID, ParticipantStatus> statuses = new LinkedHashMap<>();
+        decisions.forEach(decision -> statuses.put(decision.playerId(), decision.status()));
+
+        Map<UUID, MatchParticipantEntity> participants = new HashMap<>();
+        participantRepository.findLockedByMatchIdAndPlayerIdIn(matchId, statuses.keySet())
+                .forEach(participant -> participants.put(participant.getPlayer().getId(), participant));
+        if (participants.size() != statuses.size()) {
+            throw new RuntimeException("Participant not found");
+        }
+        // Loads the players into the persistence context, so building the responses needs no further queries
+        userRepository.findAllById(statuses.keySet());
+
+        int newlyAccepted = 0;
+        int noLongerAccepted = 0;
+        for (Map.Entry<UUID, ParticipantStatus> entry : statuses.entrySet()) {
+            boolean wasAccepted = participants.get(entry.getKey()).getStatus() == ParticipantStatus.ACCEPTED;
+            boolean isAccepted = entry.getValue() == ParticipantStatus.ACCEPTED;
+            if (isAccepted && !wasAccepted) {
+                newlyAccepted++;
+            } else if (wasAccepted && !isAccepted) {
+                noLongerAccepted++;
+            }
+        }
+
+        int delta = newlyAccepted - noLongerAccepted;
+        if (delta > 0) {
+            Boolean closedNow = matchRepository.reserveSlots(matchId, delta).orElse(null);
+            if (closedNow == null) {
+                matchMetrics.rejectedFullOnAccept();
+                throw new MatchFullException(matchId);
+            }
+            if (closedNow) {
+                matchMetrics.filled(match.getCreatedAt());
+            }
+        } else if (delta < 0) {
+            matchRepository.releaseSlots(matchId, -delta);
+        } else {
+            matchRepository.touch(matchId);
+        }
+        for (int i = 0; i < newlyAccepted; i++) {
+            matchMetrics.accepted();
+        }
 
-    private MatchResponse toMatchResponse(MatchEntity entity) {
-        int currentPlayers = participantRepository.countByMatchIdAndStatus(entity.getId(), ParticipantStatus.ACCEPTED);
+        statuses.forEach((playerId, status) -> participants.get(playerId).setStatus(status));
+        participantRepository.saveAll(participants.values());
+        eventPublisher.publishEvent(MatchChangedEvent.participantsChanged(matchId));
 
+        return statuses.keySet().stream()
+                .map(participants::get)
+                .map(this::toParticipantResponse)
+                .toList();
+    }
+
+    // Package-private so the mapping can be benchmarked on its own (src/jmh)
+    MatchResponse toMatchResponse(MatchEntity entity) {
         return new MatchResponse(
                 entity.getId(),
                 entity.getTitle(),
@@ -195,16 +407,108 @@ public class MatchService {
                 entity.getLocation(),
                 entity.getMatchDate(),
                 entity.getMaxPlayers(),
-                currentPlayers,
+                entity.getAcceptedCount(),
                 entity.getStatus(),
                 new UserSummaryResponse(
                         entity.getOrganizer().getId(),
                         entity.getOrganizer().getName()
                 ),
-                entity.getCreatedAt()
+                entity.getCreatedAt(),
+                entity.getUpdatedAt() != null ? entity.getUpdatedAt() : entity.getCreatedAt()
+        );
+    }
+
+    private MatchEntity newMatch(CreateMatchRequest request, LocalDateTime matchDate, UserEntity organizer) {
+        return MatchEntity.builder()
+                .organizer(organizer)
+                .title(request.title())
+                .description(request.description())
+                .location(request.location())
+                .matchDate(matchDate.toInstant(ZoneOffset.UTC))
+                .maxPlayers(request.maxPlayers())
+                .latitude(request.coordinates() != null ? request.coordinates().latitude() : null)
+                .longitude(request.coordinates() != null ? request.coordinates().longitude() : null)
+                .status(MatchStatus.OPEN)
+                .build();
+    }
+
+    private MatchResponse toMatchResponse(MatchListItem item) {
+        return new MatchResponse(
+                item.id(),
+                item.title(),
+                item.description(),
+                item.location(),
+                item.matchDate(),
+                item.maxPlayers(),
+                item.acceptedCount(),
+                item.status(),
+                new UserSummaryResponse(
+                        item.organizerId(),
+                        item.organizerName()
+                ),
+                item.createdAt(),
+                item.updatedAt()
+        );
+    }
+
+    private MatchResponse toMatchResponse(MatchSearchView view) {
+        return new MatchResponse(
+                view.getId(),
+                view.getTitle(),
+                view.getDescription(),
+                view.getLocation(),
+                view.getMatchDate(),
+                view.getMaxPlayers(),
+                view.getAcceptedCount(),
+                MatchStatus.valueOf(view.getStatus()),
+                new UserSummaryResponse(
+                        view.getOrganizerId(),
+                        view.getOrganizerName()
+                ),
+                view.getCreatedAt(),
+                view.getUpdatedAt()
         );
     }
 
+    private NearbyMatchResponse toNearbyMatchResponse(NearbyMatchIndex.Hit hit) {
+        MatchGeoItem match = hit.match();
+        return new NearbyMatchResponse(
+                match.id(),
+                match.title(),
+                match.location(),
+                match.matchDate(),
+                match.maxPlayers(),
+                match.acceptedCount(),
+                new Coordinates(match.latitude(), match.longitude()),
+                Math.round(hit.distanceMeters())
+        );
+    }
+
+    private MyMatchResponse toMyMatchResponse(MyMatchView view) {
+        MatchResponse match = new MatchResponse(
+                view.getId(),
+                view.getTitle(),
+                view.getDescription(),
+                view.getLocation(),
+                view.getMatchDate(),
+                view.getMaxPlayers(),
+                view.getAcceptedCount(),
+                MatchStatus.valueOf(view.getStatus()),
+                new UserSummaryResponse(
+                        view.getOrganizerId(),
+                        view.getOrganizerName()
+                ),
+                view.getCreatedAt(),
+                view.getUpdatedAt()
+        );
+
+        ParticipantStatus participantStatus = view.getParticipantStatus() != null
+                ? ParticipantStatus.valueOf(view.getParticipantStatus())
+                : null;
+
+        return new MyMatchResponse(match, participantStatus == null, participantStatus);
+    }
+
     private ParticipantResponse toParticipantResponse(MatchParticipantEntity entity) {
         return new ParticipantResponse(
                 entity.getId(),
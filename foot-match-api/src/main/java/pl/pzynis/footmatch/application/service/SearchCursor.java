@@ -0,0 +1,31 @@
+package pl.pzynis.footmatch.application.service;
+
+import pl.pzynis.footmatch.domain.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+// Float.toString round-trips exactly, so the next page starts right after the last row's rank
+record SearchCursor(float rank, UUID id) {
+
+    private static final String SEPARATOR = "|";
+
+    String encode() {
+        String raw = rank + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static SearchCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            return new SearchCursor(
+                    Float.parseFloat(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1))
+            );
+        } catch (RuntimeException e) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+}
@@ -0,0 +1,5 @@
+package pl.pzynis.footmatch.application.service;
+
+// Read in one transaction, so the version never describes a newer state than the body it comes with
+public record Versioned<V, T>(V version, T body) {
+}
@@ -0,0 +1,32 @@
+package pl.pzynis.footmatch.domain.event;
+
+import java.util.UUID;
+
+public record MatchChangedEvent(
+        UUID matchId,
+        Type type
+) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        PARTICIPANTS_CHANGED,
+        DELETED
+    }
+
+    public static MatchChangedEvent created(UUID matchId) {
+        return new MatchChangedEvent(matchId, Type.CREATED);
+    }
+
+    public static MatchChangedEvent updated(UUID matchId) {
+        return new MatchChangedEvent(matchId, Type.UPDATED);
+    }
+
+    public static MatchChangedEvent participantsChanged(UUID matchId) {
+        return new MatchChangedEvent(matchId, Type.PARTICIPANTS_CHANGED);
+    }
+
+    public static MatchChangedEvent deleted(UUID matchId) {
+        return new MatchChangedEvent(matchId, Type.DELETED);
+    }
+}
@@ -0,0 +1,7 @@
+package pl.pzynis.footmatch.domain.exception;
+
+public class InvalidCoordinatesException extends RuntimeException {
+    public InvalidCoordinatesException(double latitude, double longitude) {
+        super("Invalid coordinates: " + latitude + ", " + longitude);
+    }
+}
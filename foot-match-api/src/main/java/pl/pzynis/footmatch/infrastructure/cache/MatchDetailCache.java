@@ -0,0 +1,67 @@
+package pl.pzynis.footmatch.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import pl.pzynis.footmatch.api.dto.MatchResponse;
+import pl.pzynis.footmatch.domain.event.MatchChangedEvent;
+import pl.pzynis.footmatch.infrastructure.persistence.notification.MatchChangeNotifiedEvent;
+import pl.pzynis.footmatch.infrastructure.persistence.notification.MatchChangesMissedEvent;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.function.Function;
+
+@Component
+public class MatchDetailCache {
+
+    private static final String CACHE_NAME = "matchDetails";
+
+    private final Cache<UUID, MatchResponse> matches;
+
+    public MatchDetailCache(
+            MeterRegistry meterRegistry,
+            @Value("${match.detail-cache.ttl:10m}") Duration ttl,
+            @Value("${match.detail-cache.max-size:10000}") long maxSize) {
+        this.matches = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, matches, CACHE_NAME);
+        Gauge.builder("cache.hit.ratio", matches, cache -> cache.stats().hitRate())
+                .tag("cache", CACHE_NAME)
+                .register(meterRegistry);
+    }
+
+    public MatchResponse get(UUID matchId, Function<UUID, MatchResponse> loader) {
+        return matches.get(matchId, loader);
+    }
+
+    // After commit, so a concurrent reader can't re-cache the pre-commit state (Caffeine waits for an
+    // in-flight load of the same key before removing it). Covers this node's own writes without waiting for
+    // the notification below.
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMatchChanged(MatchChangedEvent event) {
+        matches.invalidate(event.matchId());
+    }
+
+    // Writes on other nodes and by the jobs that bypass MatchService (accepted_count reconciliation, match
+    // completion); the TTL only bounds what a dropped listener connection might have missed
+    @EventListener
+    public void onMatchChangeNotified(MatchChangeNotifiedEvent event) {
+        matches.invalidate(event.matchId());
+    }
+
+    @EventListener
+    public void onMatchChangesMissed(MatchChangesMissedEvent event) {
+        matches.invalidateAll();
+    }
+}
@@ -0,0 +1,241 @@
+package pl.pzynis.footmatch.infrastructure.cache;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import pl.pzynis.footmatch.domain.event.MatchChangedEvent;
+import pl.pzynis.footmatch.domain.model.MatchStatus;
+import pl.pzynis.footmatch.infrastructure.persistence.projection.MatchGeoItem;
+import pl.pzynis.footmatch.infrastructure.persistence.repository.MatchRepository;
+import pl.pzynis.footmatch.infrastructure.persistence.routing.PrimaryReads;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Upcoming OPEN matches with coordinates, bucketed in a lat/lng grid. A search visits only the cells its radius
+// overlaps and measures exact distance to the matches in them, so its cost follows local density, not table size.
+// Reads are lock-free; all writes run in order on one thread, each reloading from the database when it runs, so
+// a full rebuild and a change committed meanwhile can't overwrite each other with older data.
+@Slf4j
+@Component
+public class NearbyMatchIndex {
+
+    private static final double EARTH_RADIUS_METERS = 6_371_008.8;
+    private static final double METERS_PER_DEGREE = EARTH_RADIUS_METERS * Math.PI / 180;
+
+    public record Hit(MatchGeoItem match, double distanceMeters) {
+    }
+
+    private final MatchRepository matchRepository;
+    private final double cellDegrees;
+    private final int columns;
+    private final ExecutorService writer;
+
+    private volatile Grid grid = new Grid();
+
+    @Autowired
+    public NearbyMatchIndex(
+            MatchRepository matchRepository,
+            MeterRegistry meterRegistry,
+            @Value("${match.nearby-index.cell-size:0.02}") double cellDegrees) {
+        this(matchRepository, meterRegistry, cellDegrees,
+                Executors.newSingleThreadExecutor(Thread.ofPlatform().daemon().name("nearby-index").factory()));
+    }
+
+    NearbyMatchIndex(MatchRepository matchRepository, MeterRegistry meterRegistry, double cellDegrees,
+                     ExecutorService writer) {
+        this.matchRepository = matchRepository;
+        this.cellDegrees = cellDegrees;
+        this.columns = (int) Math.ceil(360 / cellDegrees);
+        this.writer = writer;
+        Gauge.builder("match.nearby.index.size", this, index -> index.grid.byId.size())
+                .description("Upcoming open matches in the nearby-search index")
+                .register(meterRegistry);
+    }
+
+    // Nearest first, at most limit matches within radiusMeters that are still upcoming
+    public List<Hit> findNearby(double latitude, double longitude, double radiusMeters, int limit) {
+        Grid current = grid;
+        Instant now = Instant.now();
+        double latSpan = radiusMeters / METERS_PER_DEGREE;
+        // A degree of longitude shrinks with cos(latitude); size the span for the pole-ward edge of the circle
+        double edgeLatitude = Math.min(90, Math.abs(latitude) + latSpan);
+        double cos = Math.cos(Math.toRadians(edgeLatitude));
+        double lngSpan = cos < 1e-9 ? 180 : Math.min(180, latSpan / cos);
+
+        int minRow = row(Math.max(-90, latitude - latSpan));
+        int maxRow = row(Math.min(90, latitude + latSpan));
+        int minCol = (int) Math.floor((longitude - lngSpan + 180) / cellDegrees);
+        int maxCol = (int) Math.floor((longitude + lngSpan + 180) / cellDegrees);
+        if (maxCol - minCol + 1 >= columns) {
+            minCol = 0;
+            maxCol = columns - 1;
+        }
+
+        // Max-heap on distance holding the best `limit` hits so far
+        PriorityQueue<Hit> nearest = new PriorityQueue<>(Comparator.comparingDouble(Hit::distanceMeters).reversed());
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int col = minCol; col <= maxCol; col++) {
+                Map<UUID, MatchGeoItem> cell = current.cells.get(key(row, Math.floorMod(col, columns)));
+                if (cell == null) {
+                    continue;
+                }
+                for (MatchGeoItem match : cell.values()) {
+                    if (!match.matchDate().isAfter(now)) {
+                        continue;
+                    }
+                    double distance = distanceMeters(latitude, longitude, match.latitude(), match.longitude());
+                    if (distance > radiusMeters) {
+                        continue;
+                    }
+                    if (nearest.size() < limit) {
+                        nearest.add(new Hit(match, distance));
+                    } else if (distance < nearest.peek().distanceMeters()) {
+                        nearest.poll();
+                        nearest.add(new Hit(match, distance));
+                    }
+                }
+            }
+        }
+        List<Hit> hits = new ArrayList<>(nearest);
+        hits.sort(Comparator.comparingDouble(Hit::distanceMeters));
+        return hits;
+    }
+
+    public int size() {
+        return grid.byId.size();
+    }
+
+    // At startup, then periodically; also drops matches that have started since the last rebuild
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${match.nearby-index.rebuild-interval:10m}",
+            initialDelayString = "${match.nearby-index.rebuild-interval:10m}")
+    public void scheduleRebuild() {
+        rebuild();
+    }
+
+    public CompletableFuture<Void> rebuild() {
+        return CompletableFuture.runAsync(this::reload, writer);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMatchChanged(MatchChangedEvent event) {
+        UUID matchId = event.matchId();
+        writer.execute(() -> {
+            try {
+                refresh(matchId, event.type());
+            } catch (RuntimeException e) {
+                log.warn("Failed to update nearby index for match {}", matchId, e);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writer.shutdownNow();
+    }
+
+    private void reload() {
+        try {
+            Grid rebuilt = new Grid();
+            PrimaryReads.call(() -> matchRepository.findGeoItems(MatchStatus.OPEN, Instant.now())).forEach(rebuilt::put);
+            grid = rebuilt;
+            log.debug("Nearby index rebuilt with {} matches", rebuilt.byId.size());
+        } catch (RuntimeException e) {
+            log.warn("Failed to rebuild nearby index", e);
+        }
+    }
+
+    private void refresh(UUID matchId, MatchChangedEvent.Type type) {
+        MatchGeoItem match = type == MatchChangedEvent.Type.DELETED
+                ? null
+                : PrimaryReads.call(() -> matchRepository.findGeoItemById(matchId)).orElse(null);
+        if (match != null && isIndexed(match)) {
+            grid.put(match);
+        } else {
+            grid.remove(matchId);
+        }
+    }
+
+    private static boolean isIndexed(MatchGeoItem match) {
+        return match.status() == MatchStatus.OPEN
+                && match.latitude() != null
+                && match.matchDate().isAfter(Instant.now());
+    }
+
+    private int row(double latitude) {
+        return (int) Math.floor((latitude + 90) / cellDegrees);
+    }
+
+    private int column(double longitude) {
+        return Math.floorMod((int) Math.floor((longitude + 180) / cellDegrees), columns);
+    }
+
+    private static long key(int row, int column) {
+        return ((long) row << 32) | column;
+    }
+
+    private long cellOf(MatchGeoItem match) {
+        return key(row(match.latitude()), column(match.longitude()));
+    }
+
+    // Haversine on a spherical Earth; within 0.5% of the ellipsoidal distance, plenty for "near me"
+    static double distanceMeters(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double sinLat = Math.sin(dLat / 2);
+        double sinLng = Math.sin(dLng / 2);
+        double a = sinLat * sinLat
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * sinLng * sinLng;
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    // Mutated only on the writer thread; concurrent maps so searches can read while it does
+    private final class Grid {
+
+        private final Map<UUID, MatchGeoItem> byId = new ConcurrentHashMap<>();
+        private final Map<Long, Map<UUID, MatchGeoItem>> cells = new ConcurrentHashMap<>();
+
+        // Adds to the new cell before leaving the old one, so a search never misses a match that stays indexed
+        void put(MatchGeoItem match) {
+            long cell = cellOf(match);
+            cells.computeIfAbsent(cell, k -> new ConcurrentHashMap<>()).put(match.id(), match);
+            MatchGeoItem previous = byId.put(match.id(), match);
+            if (previous != null && cellOf(previous) != cell) {
+                removeFromCell(cellOf(previous), match.id());
+            }
+        }
+
+        void remove(UUID matchId) {
+            MatchGeoItem previous = byId.remove(matchId);
+            if (previous != null) {
+                removeFromCell(cellOf(previous), matchId);
+            }
+        }
+
+        private void removeFromCell(long cell, UUID matchId) {
+            cells.computeIfPresent(cell, (k, matches) -> {
+                matches.remove(matchId);
+                return matches.isEmpty() ? null : matches;
+            });
+        }
+    }
+}
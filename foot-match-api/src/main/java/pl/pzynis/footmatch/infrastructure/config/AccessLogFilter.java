@@ -0,0 +1,85 @@
+package pl.pzynis.footmatch.infrastructure.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+// One line per request on the "access" logger, which logback-spring.xml routes to a non-blocking async appender.
+// Runs inside the security chain, right after the security context is set up, so it sees the user and 401/403s.
+@Component
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger("access");
+
+    private final double sampleRate;
+    private final long slowThresholdNanos;
+
+    public AccessLogFilter(
+            @Value("${access-log.sample-rate:0.1}") double sampleRate,
+            @Value("${access-log.slow-threshold:500ms}") Duration slowThreshold) {
+        this.sampleRate = sampleRate;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = false;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            // An exception escaping the chain becomes a 500 further out, whatever the response says now
+            int status = failed ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus();
+            String reason = reason(status, elapsed);
+            if (reason != null && log.isInfoEnabled()) {
+                log.info("method={} path={} route={} status={} durationMs={} userId={} reason={}",
+                        request.getMethod(),
+                        request.getRequestURI(),
+                        request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE),
+                        status,
+                        elapsed / 1_000_000,
+                        currentUserId(),
+                        reason);
+            }
+        }
+    }
+
+    private String reason(int status, long elapsedNanos) {
+        if (status >= 400) {
+            return "error";
+        }
+        if (elapsedNanos >= slowThresholdNanos) {
+            return "slow";
+        }
+        if (sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            return "sampled";
+        }
+        return null;
+    }
+
+    private static UUID currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof UUID userId ? userId : null;
+    }
+}
@@ -0,0 +1,90 @@
+package pl.pzynis.footmatch.infrastructure.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import pl.pzynis.footmatch.infrastructure.persistence.routing.ReadYourWritesWindow;
+import pl.pzynis.footmatch.infrastructure.persistence.routing.ReplicaRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// Read replicas (database.read-replicas.urls). Replaces Boot's single DataSource with a lazy proxy over the
+// primary pool: the physical connection is taken on the first statement, after the transaction manager has
+// marked a @Transactional(readOnly = true) connection read-only, and those go to ReplicaRoutingDataSource.
+@Configuration
+@ConditionalOnExpression("!'${database.read-replicas.urls:}'.isBlank()")
+public class ReadReplicaConfig {
+
+    private static final String HIKARI_PREFIX = "spring.datasource.hikari";
+
+    @Bean
+    @ConfigurationProperties(HIKARI_PREFIX)
+    public HikariDataSource primaryDataSource(
+            @Value("${spring.datasource.url}") String url,
+            @Value("${spring.datasource.username}") String username,
+            @Value("${spring.datasource.password}") String password) {
+        HikariDataSource primary = new HikariDataSource();
+        primary.setJdbcUrl(url);
+        primary.setUsername(username);
+        primary.setPassword(password);
+        primary.setPoolName("primary");
+        return primary;
+    }
+
+    @Bean
+    public ReadYourWritesWindow readYourWritesWindow(
+            @Value("${database.read-replicas.read-your-writes-window:5s}") Duration window,
+            @Value("${database.read-replicas.read-your-writes-max-tracked:100000}") long maxTracked) {
+        return new ReadYourWritesWindow(window, maxTracked);
+    }
+
+    @Bean(initMethod = "startProbing")
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            HikariDataSource primaryDataSource,
+            ReadYourWritesWindow readYourWritesWindow,
+            MeterRegistry meterRegistry,
+            Environment environment,
+            @Value("${database.read-replicas.urls}") List<String> urls,
+            @Value("${database.read-replicas.username:${spring.datasource.username}}") String username,
+            @Value("${database.read-replicas.password:${spring.datasource.password}}") String password,
+            @Value("${database.read-replicas.max-lag:2s}") Duration maxLag,
+            @Value("${database.read-replicas.probe-interval:1s}") Duration probeInterval) {
+        List<ReplicaRoutingDataSource.Replica> replicas = new ArrayList<>();
+        for (String url : urls) {
+            String name = "replica-" + replicas.size();
+            // Same pool settings as the primary; replica pools aren't beans, so Hikari reports its metrics itself
+            HikariDataSource pool = new HikariDataSource();
+            Binder.get(environment).bind(HIKARI_PREFIX, Bindable.ofInstance(pool));
+            pool.setJdbcUrl(url.strip());
+            pool.setUsername(username);
+            pool.setPassword(password);
+            pool.setPoolName(name);
+            pool.setReadOnly(true);
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.add(new ReplicaRoutingDataSource.Replica(name, pool));
+        }
+        return new ReplicaRoutingDataSource(
+                primaryDataSource, replicas, readYourWritesWindow, meterRegistry, maxLag, probeInterval);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaRoutingDataSource replicaRoutingDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaRoutingDataSource);
+        return dataSource;
+    }
+}
@@ -1,25 +0,0 @@
-package pl.pzynis.footmatch.infrastructure.config;
-
-import jakarta.servlet.http.HttpServletRequest;
-import jakarta.servlet.http.HttpServletResponse;
-import lombok.extern.slf4j.Slf4j;
-import org.springframework.stereotype.Component;
-import org.springframework.web.servlet.HandlerInterceptor;
-
-@Slf4j
-@Component
-public class RequestLoggingInterceptor implements HandlerInterceptor {
-
-    @Override
-    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
-        log.info("➡️ {} {}", request.getMethod(), request.getRequestURI());
-        return true;
-    }
-
-    @Override
-    public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
-                                Object handler, Exception ex) {
-        log.info("⬅️ {} {} [{}]", request.getMethod(),
-                request.getRequestURI(), response.getStatus());
-    }
-}
\ No newline at end of file
@@ -1,8 +1,10 @@
 package pl.pzynis.footmatch.infrastructure.config;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -12,6 +14,7 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.context.SecurityContextHolderFilter;
 import pl.pzynis.footmatch.infrastructure.security.JwtAuthenticationFilter;
 
 @Configuration
@@ -20,6 +23,26 @@ import pl.pzynis.footmatch.infrastructure.security.JwtAuthenticationFilter;
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final AccessLogFilter accessLogFilter;
+
+    // Actuator runs on management.server.port, which is not published outside the deployment: health checks and
+    // Prometheus scrape it without credentials. Boot applies the same security filter chains to that port.
+    @Bean
+    @Order(1)
+    public SecurityFilterChain managementSecurityFilterChain(
+            HttpSecurity http,
+            @Value("${management.server.port}") int managementPort) throws Exception {
+        return http
+                .securityMatcher(request -> request.getLocalPort() == managementPort)
+                .csrf(AbstractHttpConfigurer::disable)
+                .sessionManagement(session -> session
+                        .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .authorizeHttpRequests(auth -> auth
+                        .requestMatchers(HttpMethod.GET, "/actuator/health/**", "/actuator/prometheus").permitAll()
+                        .anyRequest().denyAll()
+                )
+                .build();
+    }
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -28,6 +51,8 @@ public class SecurityConfig {
                 .sessionManagement(session -> session
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        // Current user's matches - must precede the public GET rule below
+                        .requestMatchers(HttpMethod.GET, "/api/matches/mine").authenticated()
                         // Public endpoints
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/matches/**").permitAll()
@@ -37,19 +62,23 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.POST, "/api/matches/*/join").authenticated()
                         .requestMatchers(HttpMethod.DELETE, "/api/matches/*/leave").authenticated()
                         // Match management - organizer only
-                        .requestMatchers(HttpMethod.POST, "/api/matches").hasRole("ORGANIZER")
+                        .requestMatchers(HttpMethod.POST, "/api/matches", "/api/matches/series").hasRole("ORGANIZER")
                         .requestMatchers(HttpMethod.PUT, "/api/matches/*").hasRole("ORGANIZER")
+                        .requestMatchers(HttpMethod.PUT, "/api/matches/*/participants").hasRole("ORGANIZER")
                         .requestMatchers(HttpMethod.PUT, "/api/matches/*/participants/*").hasRole("ORGANIZER")
                         .requestMatchers(HttpMethod.DELETE, "/api/matches/*").hasRole("ORGANIZER")
                         // Authenticated users
                         .anyRequest().authenticated()
                 )
+                // Outside authentication and authorization, but inside the scope of the security context
+                .addFilterAfter(accessLogFilter, SecurityContextHolderFilter.class)
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
                 .build();
     }
 
+    // Raising the strength rehashes existing users on their next login (see AuthService.login)
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${security.password-hashing.bcrypt-strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
 }
@@ -0,0 +1,35 @@
+package pl.pzynis.footmatch.infrastructure.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+
+// Checks for the virtual-thread mode (spring.threads.virtual.enabled); Spring Boot does the executor wiring itself
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class VirtualThreadsConfig {
+
+    // JDK 24 (JEP 491) stopped synchronized blocks from pinning the carrier thread
+    private static final int MIN_UNPINNED_JDK = 24;
+
+    // The primary pool; with read replicas the DataSource bean is a routing proxy in front of it
+    private final ObjectProvider<HikariDataSource> primaryPool;
+
+    @PostConstruct
+    void verify() {
+        int jdk = Runtime.version().feature();
+        if (jdk < MIN_UNPINNED_JDK) {
+            // Hibernate and the JDBC stack block inside synchronized; on older JDKs that starves the carrier pool
+            throw new IllegalStateException("Virtual threads require JDK " + MIN_UNPINNED_JDK + "+, running on " + jdk);
+        }
+        primaryPool.ifUnique(hikari ->
+                log.info("Virtual threads enabled; database concurrency capped at {} connections, {} ms wait",
+                        hikari.getMaximumPoolSize(), hikari.getConnectionTimeout()));
+    }
+}
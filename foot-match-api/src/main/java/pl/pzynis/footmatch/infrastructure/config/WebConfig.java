@@ -3,18 +3,19 @@ package pl.pzynis.footmatch.infrastructure.config;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import pl.pzynis.footmatch.infrastructure.metrics.QueryCountInterceptor;
 
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
-    private final RequestLoggingInterceptor interceptor;
+    private final QueryCountInterceptor queryCountInterceptor;
 
-    public WebConfig(RequestLoggingInterceptor interceptor) {
-        this.interceptor = interceptor;
+    public WebConfig(QueryCountInterceptor queryCountInterceptor) {
+        this.queryCountInterceptor = queryCountInterceptor;
     }
 
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
-        registry.addInterceptor(interceptor);
+        registry.addInterceptor(queryCountInterceptor);
     }
-}
\ No newline at end of file
+}
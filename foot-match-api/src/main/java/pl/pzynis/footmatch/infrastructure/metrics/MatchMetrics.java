@@ -0,0 +1,66 @@
+package pl.pzynis.footmatch.infrastructure.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+@Component
+public class MatchMetrics {
+
+    private final Counter joins;
+    private final Counter accepts;
+    private final Counter fullOnJoin;
+    private final Counter fullOnAccept;
+    private final Timer timeToFill;
+
+    public MatchMetrics(MeterRegistry meterRegistry) {
+        this.joins = Counter.builder("match.joins")
+                .description("Join requests accepted for review")
+                .register(meterRegistry);
+        this.accepts = Counter.builder("match.accepts")
+                .description("Participants accepted by an organizer")
+                .register(meterRegistry);
+        this.fullOnJoin = fullRejections(meterRegistry, "join");
+        this.fullOnAccept = fullRejections(meterRegistry, "accept");
+        // From creation to the last accepted slot; matches fill over hours or days, not milliseconds
+        this.timeToFill = Timer.builder("match.time.to.fill")
+                .description("Time from match creation until all slots are taken")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMinutes(1))
+                .maximumExpectedValue(Duration.ofDays(60))
+                .register(meterRegistry);
+    }
+
+    public void joined() {
+        joins.increment();
+    }
+
+    public void accepted() {
+        accepts.increment();
+    }
+
+    public void rejectedFullOnJoin() {
+        fullOnJoin.increment();
+    }
+
+    public void rejectedFullOnAccept() {
+        fullOnAccept.increment();
+    }
+
+    public void filled(Instant createdAt) {
+        if (createdAt != null) {
+            timeToFill.record(Duration.between(createdAt, Instant.now()));
+        }
+    }
+
+    private static Counter fullRejections(MeterRegistry meterRegistry, String operation) {
+        return Counter.builder("match.full.rejections")
+                .description("Requests refused because the match had no free slot")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+}
@@ -2,6 +2,7 @@ package pl.pzynis.footmatch.infrastructure.persistence.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 import pl.pzynis.footmatch.domain.model.MatchStatus;
 
 import java.time.Instant;
@@ -11,6 +12,7 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "match")
+@DynamicUpdate
 @Getter
 @Setter
 @NoArgsConstructor
@@ -35,12 +37,21 @@ public class MatchEntity {
     @Column(nullable = false)
     private String location;
 
+    // WGS84, optional but always set as a pair (chk_match_coordinates)
+    private Double latitude;
+
+    private Double longitude;
+
     @Column(name = "match_date", nullable = false)
     private Instant matchDate;
 
     @Column(name = "max_players", nullable = false)
     private int maxPlayers;
 
+    // Maintained atomically by MatchRepository.reserveSlot/releaseSlot, never written back from the entity
+    @Column(name = "accepted_count", nullable = false, updatable = false)
+    private int acceptedCount;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false, length = 20)
     @Builder.Default
@@ -52,6 +63,10 @@ public class MatchEntity {
     @Column(name = "updated_at")
     private Instant updatedAt;
 
+    // Renumbered from match_change_seq by a trigger on every insert and update; read-only here
+    @Column(name = "change_version", insertable = false, updatable = false)
+    private Long changeVersion;
+
     @OneToMany(mappedBy = "match", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
     private List<MatchParticipantEntity> participants = new ArrayList<>();
@@ -3,12 +3,14 @@ package pl.pzynis.footmatch.infrastructure.persistence.entity;
 import jakarta.persistence.*;
 import lombok.*;
 import pl.pzynis.footmatch.domain.model.UserRole;
+import pl.pzynis.footmatch.infrastructure.security.PrincipalCacheInvalidationListener;
 
 import java.time.Instant;
 import java.util.UUID;
 
 @Entity
 @Table(name = "app_user")
+@EntityListeners(PrincipalCacheInvalidationListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
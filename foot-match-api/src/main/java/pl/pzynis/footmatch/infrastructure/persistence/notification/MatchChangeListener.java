@@ -0,0 +1,137 @@
+package pl.pzynis.footmatch.infrastructure.persistence.notification;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import pl.pzynis.footmatch.domain.event.MatchChangedEvent;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.UUID;
+
+// Turns the match_changed notifications (see trg_match_notify_change) into MatchChangeNotifiedEvents, so
+// node-local state follows writes made on other nodes and by jobs that bypass MatchService. Holds its own
+// connection to the primary, outside the pool: LISTEN is per session and the session never goes idle.
+@Slf4j
+@Component
+public class MatchChangeListener {
+
+    static final String CHANNEL = "match_changed";
+
+    // A timed-out poll is followed by a validity check, so a connection that died silently is noticed
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final String url;
+    private final String username;
+    private final String password;
+    private final Duration pollTimeout;
+    private final Duration reconnectDelay;
+    private final Thread thread;
+
+    private volatile boolean running = true;
+
+    public MatchChangeListener(
+            ApplicationEventPublisher eventPublisher,
+            @Value("${spring.datasource.url}") String url,
+            @Value("${spring.datasource.username}") String username,
+            @Value("${spring.datasource.password}") String password,
+            @Value("${match.change-listener.poll-timeout:10s}") Duration pollTimeout,
+            @Value("${match.change-listener.reconnect-delay:5s}") Duration reconnectDelay) {
+        this.eventPublisher = eventPublisher;
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.pollTimeout = pollTimeout;
+        this.reconnectDelay = reconnectDelay;
+        this.thread = Thread.ofPlatform().daemon().name("match-change-listener").unstarted(this::run);
+    }
+
+    @PostConstruct
+    public void start() {
+        thread.start();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        thread.interrupt();
+    }
+
+    private void run() {
+        boolean connectedBefore = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(url, username, password)) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                if (connectedBefore) {
+                    log.info("Listening for match changes again");
+                    eventPublisher.publishEvent(new MatchChangesMissedEvent());
+                }
+                connectedBefore = true;
+                listen(connection);
+            } catch (SQLException e) {
+                if (running) {
+                    log.warn("Lost the match change listener connection, reconnecting in {}", reconnectDelay, e);
+                }
+            }
+            if (running) {
+                sleep(reconnectDelay);
+            }
+        }
+    }
+
+    private void listen(Connection connection) throws SQLException {
+        PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        while (running) {
+            PGNotification[] notifications = pgConnection.getNotifications((int) pollTimeout.toMillis());
+            if (notifications == null || notifications.length == 0) {
+                if (!connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                    throw new SQLException("Match change listener connection is no longer valid");
+                }
+                continue;
+            }
+            for (PGNotification notification : notifications) {
+                publish(notification.getParameter());
+            }
+        }
+    }
+
+    private void publish(String payload) {
+        try {
+            eventPublisher.publishEvent(parse(payload));
+        } catch (RuntimeException e) {
+            log.warn("Failed to handle match change notification {}", payload, e);
+        }
+    }
+
+    // TG_OP ':' match id
+    static MatchChangeNotifiedEvent parse(String payload) {
+        int separator = payload.indexOf(':');
+        UUID matchId = UUID.fromString(payload.substring(separator + 1));
+        MatchChangedEvent.Type type = switch (payload.substring(0, separator)) {
+            case "INSERT" -> MatchChangedEvent.Type.CREATED;
+            case "DELETE" -> MatchChangedEvent.Type.DELETED;
+            default -> MatchChangedEvent.Type.UPDATED;
+        };
+        return new MatchChangeNotifiedEvent(matchId, type);
+    }
+
+    private void sleep(Duration delay) {
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
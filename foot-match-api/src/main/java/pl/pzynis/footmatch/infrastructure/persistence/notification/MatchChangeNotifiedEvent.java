@@ -0,0 +1,12 @@
+package pl.pzynis.footmatch.infrastructure.persistence.notification;
+
+import pl.pzynis.footmatch.domain.event.MatchChangedEvent;
+
+import java.util.UUID;
+
+// A committed change to a match row, on any node. Participant changes arrive as UPDATED: they touch the match.
+public record MatchChangeNotifiedEvent(
+        UUID matchId,
+        MatchChangedEvent.Type type
+) {
+}
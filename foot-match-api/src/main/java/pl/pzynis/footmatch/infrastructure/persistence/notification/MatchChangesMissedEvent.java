@@ -0,0 +1,5 @@
+package pl.pzynis.footmatch.infrastructure.persistence.notification;
+
+// The listener reconnected: changes committed while it was away were never delivered
+public record MatchChangesMissedEvent() {
+}
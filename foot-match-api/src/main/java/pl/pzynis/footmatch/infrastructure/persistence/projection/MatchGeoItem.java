@@ -0,0 +1,19 @@
+package pl.pzynis.footmatch.infrastructure.persistence.projection;
+
+import pl.pzynis.footmatch.domain.model.MatchStatus;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record MatchGeoItem(
+        UUID id,
+        String title,
+        String location,
+        Instant matchDate,
+        int maxPlayers,
+        int acceptedCount,
+        MatchStatus status,
+        Double latitude,
+        Double longitude
+) {
+}
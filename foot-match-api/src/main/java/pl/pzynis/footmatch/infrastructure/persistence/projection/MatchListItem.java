@@ -0,0 +1,24 @@
+package pl.pzynis.footmatch.infrastructure.persistence.projection;
+
+import pl.pzynis.footmatch.domain.model.MatchStatus;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// Read-only row of the match list and feed; built by the query, never managed by the persistence context
+public record MatchListItem(
+        UUID id,
+        String title,
+        String description,
+        String location,
+        Instant matchDate,
+        int maxPlayers,
+        int acceptedCount,
+        MatchStatus status,
+        UUID organizerId,
+        String organizerName,
+        Instant createdAt,
+        Instant updatedAt,
+        long changeVersion
+) {
+}
@@ -0,0 +1,30 @@
+package pl.pzynis.footmatch.infrastructure.persistence.projection;
+
+import org.springframework.data.domain.Page;
+
+// Version of one page of the match list: the filtered total plus an ordered hash of the listed
+// (id, change_version, organizer name). change_version moves on every write to the row, whichever path made
+// it, so an update, a reorder or an organizer rename on the page changes it, and an insert or delete elsewhere
+// in the filtered set changes the total or shifts the page. fingerprint is 0 for an empty page.
+public record MatchListVersion(
+        long count,
+        long fingerprint
+) {
+
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    public static MatchListVersion of(Page<MatchListItem> page) {
+        long fingerprint = 0;
+        for (MatchListItem item : page) {
+            fingerprint = mix(fingerprint, item.id().getMostSignificantBits());
+            fingerprint = mix(fingerprint, item.id().getLeastSignificantBits());
+            fingerprint = mix(fingerprint, item.changeVersion());
+            fingerprint = mix(fingerprint, item.organizerName().hashCode());
+        }
+        return new MatchListVersion(page.getTotalElements(), fingerprint);
+    }
+
+    private static long mix(long hash, long value) {
+        return (hash ^ value) * FNV_PRIME;
+    }
+}
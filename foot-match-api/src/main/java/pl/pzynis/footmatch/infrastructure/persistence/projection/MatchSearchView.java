@@ -0,0 +1,34 @@
+package pl.pzynis.footmatch.infrastructure.persistence.projection;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public interface MatchSearchView {
+
+    UUID getId();
+
+    String getTitle();
+
+    String getDescription();
+
+    String getLocation();
+
+    Instant getMatchDate();
+
+    int getMaxPlayers();
+
+    int getAcceptedCount();
+
+    String getStatus();
+
+    UUID getOrganizerId();
+
+    String getOrganizerName();
+
+    Instant getCreatedAt();
+
+    Instant getUpdatedAt();
+
+    // ts_rank_cd relevance; title matches weigh more than location, location more than description
+    float getRank();
+}
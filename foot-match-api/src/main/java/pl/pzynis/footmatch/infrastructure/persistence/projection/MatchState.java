@@ -0,0 +1,15 @@
+package pl.pzynis.footmatch.infrastructure.persistence.projection;
+
+import pl.pzynis.footmatch.domain.model.MatchStatus;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record MatchState(
+        UUID id,
+        int acceptedCount,
+        int maxPlayers,
+        MatchStatus status,
+        Instant updatedAt
+) {
+}
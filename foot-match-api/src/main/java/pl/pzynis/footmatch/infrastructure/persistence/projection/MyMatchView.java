@@ -0,0 +1,34 @@
+package pl.pzynis.footmatch.infrastructure.persistence.projection;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public interface MyMatchView {
+
+    UUID getId();
+
+    String getTitle();
+
+    String getDescription();
+
+    String getLocation();
+
+    Instant getMatchDate();
+
+    int getMaxPlayers();
+
+    int getAcceptedCount();
+
+    String getStatus();
+
+    UUID getOrganizerId();
+
+    String getOrganizerName();
+
+    Instant getCreatedAt();
+
+    Instant getUpdatedAt();
+
+    // null when the user is the organizer of the match
+    String getParticipantStatus();
+}
@@ -1,12 +1,15 @@
 package pl.pzynis.footmatch.infrastructure.persistence.repository;
 
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import pl.pzynis.footmatch.domain.model.ParticipantStatus;
 import pl.pzynis.footmatch.infrastructure.persistence.entity.MatchParticipantEntity;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -20,6 +23,20 @@ public interface MatchParticipantRepository extends JpaRepository<MatchParticipa
 
     Optional<MatchParticipantEntity> findByMatchIdAndPlayerId(UUID matchId, UUID playerId);
 
+    // Row lock so concurrent status changes for the same participant see each other's result
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<MatchParticipantEntity> findLockedByMatchIdAndPlayerId(UUID matchId, UUID playerId);
+
+    // Ordered by id so two batches for the same match take their row locks in the same order
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT mp FROM MatchParticipantEntity mp " +
+            "WHERE mp.match.id = :matchId AND mp.player.id IN :playerIds " +
+            "ORDER BY mp.id")
+    List<MatchParticipantEntity> findLockedByMatchIdAndPlayerIdIn(
+            @Param("matchId") UUID matchId,
+            @Param("playerIds") Collection<UUID> playerIds
+    );
+
     boolean existsByMatchIdAndPlayerId(UUID matchId, UUID playerId);
 
     @Query("SELECT COUNT(mp) FROM MatchParticipantEntity mp " +
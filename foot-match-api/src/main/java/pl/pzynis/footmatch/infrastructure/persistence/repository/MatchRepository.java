@@ -2,18 +2,38 @@ package pl.pzynis.footmatch.infrastructure.persistence.repository;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 import pl.pzynis.footmatch.domain.model.MatchStatus;
 import pl.pzynis.footmatch.infrastructure.persistence.entity.MatchEntity;
+import pl.pzynis.footmatch.infrastructure.persistence.projection.MatchGeoItem;
+import pl.pzynis.footmatch.infrastructure.persistence.projection.MatchListItem;
+import pl.pzynis.footmatch.infrastructure.persistence.projection.MatchSearchView;
+import pl.pzynis.footmatch.infrastructure.persistence.projection.MatchState;
+import pl.pzynis.footmatch.infrastructure.persistence.projection.MyMatchView;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Repository
-public interface MatchRepository extends JpaRepository<MatchEntity, UUID> {
+public interface MatchRepository extends JpaRepository<MatchEntity, UUID>, JpaSpecificationExecutor<MatchEntity>,
+        MatchRepositoryCustom {
 
     Page<MatchEntity> findByOrganizerId(UUID organizerId, Pageable pageable);
 
@@ -26,18 +46,235 @@ public interface MatchRepository extends JpaRepository<MatchEntity, UUID> {
             Pageable pageable
     );
 
-    @Query("""
-SELECT m FROM MatchEntity m
-WHERE (:status IS NULL OR m.status = :status)
-""")
-    Page<MatchEntity> findWithFilters(
-            @Param("status") MatchStatus status,
-            @Param("location") String location,
-            @Param("dateFrom") Instant dateFrom,
-            Pageable pageable
+    @EntityGraph(attributePaths = "organizer")
+    Optional<MatchEntity> findWithOrganizerById(UUID id);
+
+    @Query("SELECT COALESCE(m.updatedAt, m.createdAt) FROM MatchEntity m WHERE m.id = :id")
+    Optional<Instant> findLastModifiedById(@Param("id") UUID id);
+
+    @Query("SELECT new pl.pzynis.footmatch.infrastructure.persistence.projection.MatchState(" +
+            "m.id, m.acceptedCount, m.maxPlayers, m.status, COALESCE(m.updatedAt, m.createdAt)) " +
+            "FROM MatchEntity m WHERE m.id = :id")
+    Optional<MatchState> findStateById(@Param("id") UUID id);
+
+    // Source of NearbyMatchIndex
+    @Query("SELECT new pl.pzynis.footmatch.infrastructure.persistence.projection.MatchGeoItem(" +
+            "m.id, m.title, m.location, m.matchDate, m.maxPlayers, m.acceptedCount, m.status, m.latitude, m.longitude) " +
+            "FROM MatchEntity m WHERE m.status = :status AND m.matchDate > :now AND m.latitude IS NOT NULL")
+    List<MatchGeoItem> findGeoItems(@Param("status") MatchStatus status, @Param("now") Instant now);
+
+    @Query("SELECT new pl.pzynis.footmatch.infrastructure.persistence.projection.MatchGeoItem(" +
+            "m.id, m.title, m.location, m.matchDate, m.maxPlayers, m.acceptedCount, m.status, m.latitude, m.longitude) " +
+            "FROM MatchEntity m WHERE m.id = :id")
+    Optional<MatchGeoItem> findGeoItemById(@Param("id") UUID id);
+
+    default Page<MatchListItem> findWithFilters(MatchStatus status, String location, Instant dateFrom, Pageable pageable) {
+        return findListItems(Specification.allOf(filters(status, location, dateFrom)), pageable);
+    }
+
+    // Keyset page ordered by (matchDate, id); skips the COUNT query and OFFSET scan of findWithFilters
+    default List<MatchListItem> findFeed(
+            MatchStatus status,
+            String location,
+            Instant dateFrom,
+            Instant afterMatchDate,
+            UUID afterId,
+            int limit
+    ) {
+        List<Specification<MatchEntity>> filters = filters(status, location, dateFrom);
+        if (afterMatchDate != null && afterId != null) {
+            filters.add(MatchSpecifications.after(afterMatchDate, afterId));
+        }
+        return findListItems(Specification.allOf(filters), Sort.by("matchDate", "id"), limit);
+    }
+
+    private static List<Specification<MatchEntity>> filters(MatchStatus status, String location, Instant dateFrom) {
+        List<Specification<MatchEntity>> filters = new ArrayList<>();
+        if (status != null) {
+            filters.add(MatchSpecifications.hasStatus(status));
+        }
+        if (StringUtils.hasText(location)) {
+            filters.add(MatchSpecifications.locationContains(location));
+        }
+        if (dateFrom != null) {
+            filters.add(MatchSpecifications.startsFrom(dateFrom));
+        }
+        return filters;
+    }
+
+    // Each UNION branch is served by its own index: idx_match_organizer_id and idx_match_participant_player_id
+    @Query(value = """
+SELECT m.id AS id, m.title AS title, m.description AS description, m.location AS location,
+       m.match_date AS matchDate, m.max_players AS maxPlayers, m.accepted_count AS acceptedCount,
+       m.status AS status, u.id AS organizerId, u.name AS organizerName, m.created_at AS createdAt,
+       COALESCE(m.updated_at, m.created_at) AS updatedAt,
+       mine.participant_status AS participantStatus
+FROM (
+    SELECT id AS match_id, CAST(NULL AS varchar) AS participant_status
+    FROM match
+    WHERE organizer_id = :userId
+    UNION ALL
+    SELECT match_id, status
+    FROM match_participant
+    WHERE player_id = :userId
+) mine
+JOIN match m ON m.id = mine.match_id
+JOIN app_user u ON u.id = m.organizer_id
+ORDER BY m.match_date, m.id
+""", countQuery = """
+SELECT (SELECT COUNT(*) FROM match WHERE organizer_id = :userId)
+     + (SELECT COUNT(*) FROM match_participant WHERE player_id = :userId)
+""", nativeQuery = true)
+    Page<MyMatchView> findMine(@Param("userId") UUID userId, Pageable pageable);
+
+    // Every word of the input is a prefix term and all of them must match: "orlik mokot" -> orlik:* & mokot:*.
+    // Only letters and digits reach to_tsquery, so the input can't break its syntax. Keyset page ordered by
+    // (rank DESC, id); without a cursor the bounds are +Infinity and the nil UUID.
+    default List<MatchSearchView> search(String text, Float afterRank, UUID afterId, int limit) {
+        String query = Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(word -> !word.isEmpty())
+                .limit(8)
+                .map(word -> word + ":*")
+                .collect(Collectors.joining(" & "));
+        if (query.isEmpty()) {
+            return List.of();
+        }
+        return searchUpcoming(
+                query,
+                afterRank != null ? afterRank : Float.POSITIVE_INFINITY,
+                afterId != null ? afterId : new UUID(0, 0),
+                limit
+        );
+    }
+
+    // Upcoming OPEN/CLOSED matches only (no cancelled or completed ones); the partial
+    // idx_match_search_vector_upcoming finds the candidates, only those get ranked
+    @Query(value = """
+SELECT ranked.* FROM (
+    SELECT m.id AS id, m.title AS title, m.description AS description, m.location AS location,
+           m.match_date AS matchDate, m.max_players AS maxPlayers, m.accepted_count AS acceptedCount,
+           m.status AS status, u.id AS organizerId, u.name AS organizerName, m.created_at AS createdAt,
+           COALESCE(m.updated_at, m.created_at) AS updatedAt,
+           ts_rank_cd(m.search_vector, q) AS rank
+    FROM match m
+    CROSS JOIN to_tsquery('simple', f_unaccent(:query)) q
+    JOIN app_user u ON u.id = m.organizer_id
+    WHERE m.search_vector @@ q AND m.status IN ('OPEN', 'CLOSED') AND m.match_date > now()
+) ranked
+WHERE ranked.rank < :afterRank OR (ranked.rank = :afterRank AND ranked.id > :afterId)
+ORDER BY ranked.rank DESC, ranked.id
+LIMIT :limit
+""", nativeQuery = true)
+    List<MatchSearchView> searchUpcoming(
+            @Param("query") String query,
+            @Param("afterRank") float afterRank,
+            @Param("afterId") UUID afterId,
+            @Param("limit") int limit
     );
 
     @Query("SELECT COUNT(mp) FROM MatchParticipantEntity mp " +
             "WHERE mp.match.id = :matchId AND mp.status = 'ACCEPTED'")
     int countAcceptedParticipants(@Param("matchId") UUID matchId);
+
+    // Bumps the version used for ETags when only the match's participants changed
+    @Modifying
+    @Query(value = "UPDATE match SET updated_at = now() WHERE id = :matchId", nativeQuery = true)
+    int touch(@Param("matchId") UUID matchId);
+
+    // Takes a slot only if one is free and closes an OPEN match when the last one goes - a single
+    // statement, so concurrent accepts serialize on the row lock and can never overshoot max_players.
+    // Returns whether this reservation closed the match (false when it was CLOSED already); empty when no slot
+    // was free. The CTE locks the row first, so the status it reads is the one this update replaces.
+    // Not @Modifying: that can't return rows, so it runs as a query - read-write, as it writes.
+    @Transactional
+    @Query(value = """
+WITH locked AS (
+    SELECT id, status FROM match WHERE id = :matchId FOR UPDATE
+)
+UPDATE match m
+SET accepted_count = m.accepted_count + 1,
+    status = CASE WHEN m.status = 'OPEN' AND m.accepted_count + 1 >= m.max_players THEN 'CLOSED' ELSE m.status END,
+    updated_at = now()
+FROM locked
+WHERE m.id = locked.id AND m.accepted_count < m.max_players
+RETURNING locked.status = 'OPEN' AND m.status = 'CLOSED' AS closed_now
+""", nativeQuery = true)
+    Optional<Boolean> reserveSlot(@Param("matchId") UUID matchId);
+
+    // reserveSlot for several players at once: all of them fit or none are taken
+    @Transactional
+    @Query(value = """
+WITH locked AS (
+    SELECT id, status FROM match WHERE id = :matchId FOR UPDATE
+)
+UPDATE match m
+SET accepted_count = m.accepted_count + :count,
+    status = CASE WHEN m.status = 'OPEN' AND m.accepted_count + :count >= m.max_players THEN 'CLOSED' ELSE m.status END,
+    updated_at = now()
+FROM locked
+WHERE m.id = locked.id AND m.accepted_count + :count <= m.max_players
+RETURNING locked.status = 'OPEN' AND m.status = 'CLOSED' AS closed_now
+""", nativeQuery = true)
+    Optional<Boolean> reserveSlots(@Param("matchId") UUID matchId, @Param("count") int count);
+
+    @Modifying
+    @Query(value = """
+UPDATE match
+SET accepted_count = accepted_count - :count, updated_at = now()
+WHERE id = :matchId AND accepted_count >= :count
+""", nativeQuery = true)
+    int releaseSlots(@Param("matchId") UUID matchId, @Param("count") int count);
+
+    @Modifying
+    @Query(value = """
+UPDATE match
+SET accepted_count = accepted_count - 1, updated_at = now()
+WHERE id = :matchId AND accepted_count > 0
+""", nativeQuery = true)
+    int releaseSlot(@Param("matchId") UUID matchId);
+
+    // Locks the next chunk of upcoming matches in id order. Each reserve/release updates the match row, so while
+    // these locks are held no participant change on them can commit; SKIP LOCKED leaves busy rows to the next run.
+    @Query(value = """
+SELECT id FROM match
+WHERE status IN ('OPEN', 'CLOSED') AND id > :afterId
+ORDER BY id
+LIMIT :limit
+FOR UPDATE SKIP LOCKED
+""", nativeQuery = true)
+    List<UUID> lockUpcomingAfter(@Param("afterId") UUID afterId, @Param("limit") int limit);
+
+    // Must run after lockUpcomingAfter in the same transaction, so the counts see every change committed
+    // before the locks were taken
+    @Modifying
+    @Query(value = """
+UPDATE match m
+SET accepted_count = counts.accepted, updated_at = now()
+FROM (
+    SELECT m2.id, COUNT(mp.id) FILTER (WHERE mp.status = 'ACCEPTED') AS accepted
+    FROM match m2
+    LEFT JOIN match_participant mp ON mp.match_id = m2.id
+    WHERE m2.id IN (:matchIds)
+    GROUP BY m2.id
+) counts
+WHERE counts.id = m.id AND m.accepted_count <> counts.accepted
+""", nativeQuery = true)
+    int reconcileAcceptedCounts(@Param("matchIds") Collection<UUID> matchIds);
+
+    // One chunk of OPEN/CLOSED matches that started before the cutoff, completed in a single statement and its
+    // own transaction; returns the completed ids. SKIP LOCKED: rows held by a join in flight or by another
+    // node's chunk are left for later.
+    @Transactional
+    @Query(value = """
+UPDATE match
+SET status = 'COMPLETED', updated_at = now()
+WHERE id IN (
+    SELECT id FROM match
+    WHERE status IN ('OPEN', 'CLOSED') AND match_date < :cutoff
+    LIMIT :limit
+    FOR UPDATE SKIP LOCKED
+)
+RETURNING id
+""", nativeQuery = true)
+    List<UUID> completeStartedBefore(@Param("cutoff") Instant cutoff, @Param("limit") int limit);
 }
@@ -0,0 +1,17 @@
+package pl.pzynis.footmatch.infrastructure.persistence.repository;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import pl.pzynis.footmatch.infrastructure.persistence.entity.MatchEntity;
+import pl.pzynis.footmatch.infrastructure.persistence.projection.MatchListItem;
+
+import java.util.List;
+
+public interface MatchRepositoryCustom {
+
+    Page<MatchListItem> findListItems(Specification<MatchEntity> spec, Pageable pageable);
+
+    List<MatchListItem> findListItems(Specification<MatchEntity> spec, Sort sort, int limit);
+}
@@ -0,0 +1,94 @@
+package pl.pzynis.footmatch.infrastructure.persistence.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import pl.pzynis.footmatch.infrastructure.persistence.entity.MatchEntity;
+import pl.pzynis.footmatch.infrastructure.persistence.entity.UserEntity;
+import pl.pzynis.footmatch.infrastructure.persistence.projection.MatchListItem;
+
+import java.util.List;
+
+class MatchRepositoryImpl implements MatchRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<MatchListItem> findListItems(Specification<MatchEntity> spec, Pageable pageable) {
+        TypedQuery<MatchListItem> query = listItemQuery(spec, pageable.getSort());
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        // The count only runs when the page alone can't tell the total
+        return PageableExecutionUtils.getPage(query.getResultList(), pageable, () -> count(spec));
+    }
+
+    @Override
+    public List<MatchListItem> findListItems(Specification<MatchEntity> spec, Sort sort, int limit) {
+        return listItemQuery(spec, sort)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    // Only the columns MatchResponse needs, with the organizer joined in the same statement: no entities,
+    // no proxies, nothing for the flush to dirty-check
+    private TypedQuery<MatchListItem> listItemQuery(Specification<MatchEntity> spec, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<MatchListItem> query = cb.createQuery(MatchListItem.class);
+        Root<MatchEntity> match = query.from(MatchEntity.class);
+        Join<MatchEntity, UserEntity> organizer = match.join("organizer");
+
+        query.select(cb.construct(MatchListItem.class,
+                match.get("id"),
+                match.get("title"),
+                match.get("description"),
+                match.get("location"),
+                match.get("matchDate"),
+                match.get("maxPlayers"),
+                match.get("acceptedCount"),
+                match.get("status"),
+                organizer.get("id"),
+                organizer.get("name"),
+                match.get("createdAt"),
+                cb.coalesce(match.get("updatedAt"), match.get("createdAt")),
+                match.get("changeVersion")
+        ));
+
+        Predicate predicate = spec.toPredicate(match, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, match, cb));
+        }
+
+        return entityManager.createQuery(query);
+    }
+
+    private long count(Specification<MatchEntity> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<MatchEntity> match = query.from(MatchEntity.class);
+        query.select(cb.count(match));
+
+        Predicate predicate = spec.toPredicate(match, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
@@ -0,0 +1,49 @@
+package pl.pzynis.footmatch.infrastructure.persistence.repository;
+
+import org.springframework.data.jpa.domain.Specification;
+import pl.pzynis.footmatch.domain.model.MatchStatus;
+import pl.pzynis.footmatch.infrastructure.persistence.entity.MatchEntity;
+
+import java.time.Instant;
+import java.util.Locale;
+import java.util.UUID;
+
+public final class MatchSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private MatchSpecifications() {
+    }
+
+    public static Specification<MatchEntity> hasStatus(MatchStatus status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    // Matches the expression of idx_match_location_trgm (lower(location) gin_trgm_ops)
+    public static Specification<MatchEntity> locationContains(String location) {
+        String pattern = "%" + escapeLike(location.trim().toLowerCase(Locale.ROOT)) + "%";
+        return (root, query, cb) -> cb.like(cb.lower(root.get("location")), pattern, LIKE_ESCAPE);
+    }
+
+    public static Specification<MatchEntity> startsFrom(Instant dateFrom) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("matchDate"), dateFrom);
+    }
+
+    // match_date >= :date leads so the index range starts at the cursor instead of filtering from the beginning
+    public static Specification<MatchEntity> after(Instant matchDate, UUID id) {
+        return (root, query, cb) -> cb.and(
+                cb.greaterThanOrEqualTo(root.get("matchDate"), matchDate),
+                cb.or(
+                        cb.greaterThan(root.get("matchDate"), matchDate),
+                        cb.greaterThan(root.get("id"), id)
+                )
+        );
+    }
+
+    private static String escapeLike(String value) {
+        return value
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
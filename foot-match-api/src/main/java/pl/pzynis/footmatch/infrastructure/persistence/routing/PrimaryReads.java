@@ -0,0 +1,23 @@
+package pl.pzynis.footmatch.infrastructure.persistence.routing;
+
+import java.util.function.Supplier;
+
+// Sends the reads inside call() to the primary although their transaction is read-only: reloads right after a
+// commit (caches, match streams, sign-in), where a lagging replica would answer with the row from before it.
+// Without an enclosing transaction each repository call gets its own, so the hint reaches its connection choice;
+// inside an existing read-only transaction it only helps if no statement has run yet.
+public final class PrimaryReads {
+
+    private static final ScopedValue<Boolean> PINNED = ScopedValue.newInstance();
+
+    private PrimaryReads() {
+    }
+
+    public static <T> T call(Supplier<T> reads) {
+        return ScopedValue.where(PINNED, Boolean.TRUE).call(reads::get);
+    }
+
+    static boolean isPinned() {
+        return PINNED.isBound();
+    }
+}
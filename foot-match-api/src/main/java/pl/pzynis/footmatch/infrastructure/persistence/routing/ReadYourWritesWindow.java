@@ -0,0 +1,57 @@
+package pl.pzynis.footmatch.infrastructure.persistence.routing;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+// Users whose own read-write transaction committed recently. Their reads stay on the primary for the window,
+// so a replica that hasn't replayed the change yet can't show them the state from before it.
+// Spring Boot registers execution listener beans with the transaction manager.
+public class ReadYourWritesWindow implements TransactionExecutionListener {
+
+    private final Cache<UUID, Boolean> recentWriters;
+
+    public ReadYourWritesWindow(Duration window, long maxTracked) {
+        this(window, maxTracked, Ticker.systemTicker());
+    }
+
+    ReadYourWritesWindow(Duration window, long maxTracked, Ticker ticker) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(maxTracked)
+                .ticker(ticker)
+                .build();
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        if (commitFailure != null || transaction.isReadOnly() || !transaction.isNewTransaction()) {
+            return;
+        }
+        currentUser().ifPresent(this::recordWrite);
+    }
+
+    public void recordWrite(UUID userId) {
+        recentWriters.put(userId, Boolean.TRUE);
+    }
+
+    public boolean coversCurrentUser() {
+        return currentUser().map(userId -> recentWriters.getIfPresent(userId) != null).orElse(false);
+    }
+
+    private static Optional<UUID> currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UUID userId) {
+            return Optional.of(userId);
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,187 @@
+package pl.pzynis.footmatch.infrastructure.persistence.routing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+// Target for read-only transactions: the next replica (round-robin) whose last probe is fresh and within
+// max-lag, otherwise the primary. Users inside their read-your-writes window and reads inside
+// PrimaryReads.call() always read from the primary.
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    static final String PRIMARY = "primary";
+
+    // Zero when the replica has replayed everything it received, so an idle primary doesn't read as lag;
+    // NULL (unknown) when it has never replayed a transaction
+    private static final String LAG_SQL = """
+            SELECT CASE
+                WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000
+            END
+            """;
+
+    // A hung replica must not hold the probe thread, or the other replicas' probes go stale too
+    private static final int PROBE_TIMEOUT_SECONDS = 2;
+
+    @FunctionalInterface
+    interface LagProbe {
+        // null when the lag can't be determined
+        Duration measure(DataSource replica) throws SQLException;
+    }
+
+    public record Replica(String name, DataSource dataSource) {
+    }
+
+    private record Probe(Duration lag, long probedAtNanos) {
+    }
+
+    private final List<Replica> replicas;
+    private final Map<String, Probe> probes = new ConcurrentHashMap<>();
+    private final ReadYourWritesWindow readYourWrites;
+    private final long maxLagMillis;
+    private final long maxProbeAgeNanos;
+    private final Duration probeInterval;
+    private final LagProbe lagProbe;
+    private final LongSupplier nanoClock;
+    private final AtomicInteger next = new AtomicInteger();
+    private final ScheduledExecutorService prober =
+            Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().daemon().name("replica-probe").factory());
+    private final Counter lagFallbacks;
+    private final Counter readYourWritesFallbacks;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<Replica> replicas, ReadYourWritesWindow readYourWrites,
+                                    MeterRegistry meterRegistry, Duration maxLag, Duration probeInterval) {
+        this(primary, replicas, readYourWrites, meterRegistry, maxLag, probeInterval,
+                ReplicaRoutingDataSource::queryLag, System::nanoTime);
+    }
+
+    ReplicaRoutingDataSource(DataSource primary, List<Replica> replicas, ReadYourWritesWindow readYourWrites,
+                             MeterRegistry meterRegistry, Duration maxLag, Duration probeInterval,
+                             LagProbe lagProbe, LongSupplier nanoClock) {
+        if (replicas.isEmpty()) {
+            throw new IllegalArgumentException("At least one replica is required");
+        }
+        this.replicas = List.copyOf(replicas);
+        this.readYourWrites = readYourWrites;
+        this.maxLagMillis = maxLag.toMillis();
+        // A replica that missed two probes in a row (down, or the probe hangs) stops receiving reads
+        this.maxProbeAgeNanos = probeInterval.multipliedBy(3).toNanos();
+        this.probeInterval = probeInterval;
+        this.lagProbe = lagProbe;
+        this.nanoClock = nanoClock;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (Replica replica : this.replicas) {
+            targets.put(replica.name(), replica.dataSource());
+            TimeGauge.builder("datasource.replica.lag", () -> lagMillis(replica), TimeUnit.MILLISECONDS)
+                    .description("Replication lag at the last probe; NaN when unknown or unreachable")
+                    .tag("replica", replica.name())
+                    .register(meterRegistry);
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+
+        this.lagFallbacks = fallbacks(meterRegistry, "lag");
+        this.readYourWritesFallbacks = fallbacks(meterRegistry, "read_your_writes");
+    }
+
+    private static Counter fallbacks(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("datasource.replica.fallbacks")
+                .description("Read-only transactions sent to the primary instead of a replica")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (PrimaryReads.isPinned()) {
+            return PRIMARY;
+        }
+        if (readYourWrites.coversCurrentUser()) {
+            readYourWritesFallbacks.increment();
+            return PRIMARY;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (isEligible(replica)) {
+                return replica.name();
+            }
+        }
+        lagFallbacks.increment();
+        return PRIMARY;
+    }
+
+    // Own thread rather than the shared @Scheduled one: a long job there would let every probe go stale and send
+    // all reads to the primary
+    public void startProbing() {
+        prober.scheduleWithFixedDelay(this::probe, 0, probeInterval.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    void probe() {
+        for (Replica replica : replicas) {
+            try {
+                probes.put(replica.name(), new Probe(lagProbe.measure(replica.dataSource()), nanoClock.getAsLong()));
+            } catch (SQLException | RuntimeException e) {
+                log.warn("Replica {} probe failed: {}", replica.name(), e.getMessage());
+                probes.remove(replica.name());
+            }
+        }
+    }
+
+    private boolean isEligible(Replica replica) {
+        Probe probe = probes.get(replica.name());
+        return probe != null
+                && probe.lag() != null
+                && probe.lag().toMillis() <= maxLagMillis
+                && nanoClock.getAsLong() - probe.probedAtNanos() <= maxProbeAgeNanos;
+    }
+
+    private double lagMillis(Replica replica) {
+        Probe probe = probes.get(replica.name());
+        return probe == null || probe.lag() == null ? Double.NaN : probe.lag().toMillis();
+    }
+
+    private static Duration queryLag(DataSource replica) throws SQLException {
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(PROBE_TIMEOUT_SECONDS);
+            try (ResultSet rs = statement.executeQuery(LAG_SQL)) {
+                rs.next();
+                double millis = rs.getDouble(1);
+                return rs.wasNull() ? null : Duration.ofMillis(Math.max(0, (long) millis));
+            }
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        prober.shutdownNow();
+        for (Replica replica : replicas) {
+            if (replica.dataSource() instanceof AutoCloseable pool) {
+                pool.close();
+            }
+        }
+    }
+}
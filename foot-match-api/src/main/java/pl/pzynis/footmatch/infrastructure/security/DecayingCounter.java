@@ -0,0 +1,31 @@
+package pl.pzynis.footmatch.infrastructure.security;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+// Event count that halves every half-life; updated with a CAS on an immutable snapshot, no locks
+final class DecayingCounter {
+
+    private record Snapshot(double value, long atNanos) {
+    }
+
+    private final double decayPerNano;
+    private final AtomicReference<Snapshot> snapshot;
+
+    DecayingCounter(double decayPerNano, long nowNanos) {
+        this.decayPerNano = decayPerNano;
+        this.snapshot = new AtomicReference<>(new Snapshot(0, nowNanos));
+    }
+
+    double increment(long nowNanos) {
+        return snapshot.updateAndGet(current -> new Snapshot(decayed(current, nowNanos) + 1, nowNanos)).value();
+    }
+
+    double value(long nowNanos) {
+        return decayed(snapshot.get(), nowNanos);
+    }
+
+    private double decayed(Snapshot current, long nowNanos) {
+        long elapsed = Math.max(0, nowNanos - current.atNanos());
+        return current.value() * Math.exp(-elapsed * decayPerNano);
+    }
+}
@@ -11,8 +11,6 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
-import pl.pzynis.footmatch.infrastructure.persistence.entity.UserEntity;
-import pl.pzynis.footmatch.infrastructure.persistence.repository.UserRepository;
 
 import java.io.IOException;
 import java.util.List;
@@ -23,7 +21,7 @@ import java.util.UUID;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
-    private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
 
     @Override
     protected void doFilterInternal(
@@ -34,22 +32,24 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         String token = extractToken(request);
 
-        if (token != null && jwtTokenProvider.validateToken(token)) {
-            UUID userId = jwtTokenProvider.getUserIdFromToken(token);
-            String role = jwtTokenProvider.getRoleFromToken(token);
-
-            UserEntity user = userRepository.findById(userId).orElse(null);
-
-            if (user != null) {
-                var authorities = List.of(new SimpleGrantedAuthority("ROLE_" + role));
-                var authentication = new UsernamePasswordAuthenticationToken(userId, null, authorities);
-                SecurityContextHolder.getContext().setAuthentication(authentication);
-            }
+        if (token != null) {
+            jwtTokenProvider.parseAndVerify(token).ifPresent(this::authenticate);
         }
 
         filterChain.doFilter(request, response);
     }
 
+    private void authenticate(JwtClaims claims) {
+        UUID userId = claims.userId();
+
+        // Role comes from the (cached) user record, so a role change takes effect without a new token
+        principalCache.findRole(userId).ifPresent(role -> {
+            var authorities = List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+            var authentication = new UsernamePasswordAuthenticationToken(userId, null, authorities);
+            SecurityContextHolder.getContext().setAuthentication(authentication);
+        });
+    }
+
     private String extractToken(HttpServletRequest request) {
         String header = request.getHeader("Authorization");
         if (header != null && header.startsWith("Bearer ")) {
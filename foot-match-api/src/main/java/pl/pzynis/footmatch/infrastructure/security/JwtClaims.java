@@ -0,0 +1,12 @@
+package pl.pzynis.footmatch.infrastructure.security;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record JwtClaims(
+        UUID userId,
+        String email,
+        String role,
+        Instant expiresAt
+) {
+}
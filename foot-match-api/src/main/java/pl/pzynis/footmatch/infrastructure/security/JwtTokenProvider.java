@@ -1,29 +1,56 @@
 package pl.pzynis.footmatch.infrastructure.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
+import java.util.Optional;
 import java.util.UUID;
 
 @Component
 public class JwtTokenProvider {
 
+    private static final long DEFAULT_VERIFIED_TOKEN_CACHE_SIZE = 10_000;
+
     private final SecretKey secretKey;
+    private final JwtParser parser;
     private final long accessTokenExpiration;
     private final long refreshTokenExpiration;
 
+    // Already-verified tokens keyed by SHA-256 digest, so raw bearer tokens are never kept on the heap
+    private final Cache<String, JwtClaims> verifiedTokens;
+
+    public JwtTokenProvider(String secret, long accessTokenExpiration, long refreshTokenExpiration) {
+        this(secret, accessTokenExpiration, refreshTokenExpiration, DEFAULT_VERIFIED_TOKEN_CACHE_SIZE);
+    }
+
+    @Autowired
     public JwtTokenProvider(
             @Value("${jwt.secret}") String secret,
             @Value("${jwt.access-token-expiration:3600000}") long accessTokenExpiration,
-            @Value("${jwt.refresh-token-expiration:604800000}") long refreshTokenExpiration) {
+            @Value("${jwt.refresh-token-expiration:604800000}") long refreshTokenExpiration,
+            @Value("${jwt.verified-token-cache.max-size:10000}") long verifiedTokenCacheSize) {
         this.secretKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser().verifyWith(secretKey).build();
         this.accessTokenExpiration = accessTokenExpiration;
         this.refreshTokenExpiration = refreshTokenExpiration;
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedTokenCacheSize)
+                .expireAfter(Expiry.creating((String digest, JwtClaims claims) -> timeToExpiry(claims)))
+                .build();
     }
 
     public String generateAccessToken(UUID userId, String email, String role) {
@@ -48,34 +75,52 @@ public class JwtTokenProvider {
                 .compact();
     }
 
-    public boolean validateToken(String token) {
+    public Optional<JwtClaims> parseAndVerify(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+
+        String digest = digest(token);
+        JwtClaims cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
         try {
-            Jwts.parser()
-                    .verifyWith(secretKey)
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
+            JwtClaims claims = verify(token);
+            verifiedTokens.put(digest, claims);
+            return Optional.of(claims);
         } catch (JwtException | IllegalArgumentException e) {
-            return false;
+            return Optional.empty();
         }
     }
 
-    public UUID getUserIdFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(secretKey)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        return UUID.fromString(claims.getSubject());
+    public boolean validateToken(String token) {
+        return parseAndVerify(token).isPresent();
+    }
+
+    private JwtClaims verify(String token) {
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        return new JwtClaims(
+                UUID.fromString(claims.getSubject()),
+                claims.get("email", String.class),
+                claims.get("role", String.class),
+                claims.getExpiration().toInstant()
+        );
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 
-    public String getRoleFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(secretKey)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        return claims.get("role", String.class);
+    private static Duration timeToExpiry(JwtClaims claims) {
+        Duration remaining = Duration.between(Instant.now(), claims.expiresAt());
+        return remaining.isNegative() ? Duration.ZERO : remaining;
     }
 
     public long getAccessTokenExpiration() {
@@ -0,0 +1,117 @@
+package pl.pzynis.footmatch.infrastructure.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import pl.pzynis.footmatch.domain.exception.TooManyRequestsException;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.function.LongSupplier;
+
+// Failed logins per account and per client address, decaying over time. Checked before the user lookup and
+// the BCrypt compare, so a credential-stuffing burst costs a map read per attempt once it crosses a limit.
+@Component
+public class LoginThrottle {
+
+    private static final String MESSAGE = "Too many failed sign-in attempts, please retry later";
+
+    private final LongSupplier nanoClock;
+    private final double accountLimit;
+    private final double addressLimit;
+    private final double decayPerNano;
+    private final Cache<String, DecayingCounter> accounts;
+    private final Cache<String, DecayingCounter> addresses;
+    private final Counter failures;
+    private final Counter accountThrottled;
+    private final Counter addressThrottled;
+
+    @Autowired
+    public LoginThrottle(
+            MeterRegistry meterRegistry,
+            @Value("${security.login-throttle.account-limit:5}") int accountLimit,
+            @Value("${security.login-throttle.address-limit:20}") int addressLimit,
+            @Value("${security.login-throttle.half-life:5m}") Duration halfLife,
+            @Value("${security.login-throttle.max-tracked:100000}") long maxTracked) {
+        this(meterRegistry, accountLimit, addressLimit, halfLife, maxTracked, System::nanoTime);
+    }
+
+    public LoginThrottle(MeterRegistry meterRegistry, int accountLimit, int addressLimit, Duration halfLife,
+                         long maxTracked, LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        this.accountLimit = accountLimit;
+        this.addressLimit = addressLimit;
+        this.decayPerNano = Math.log(2) / halfLife.toNanos();
+        // After ten half-lives a counter is below 1/1000 of its peak and can be forgotten
+        Duration idle = halfLife.multipliedBy(10);
+        this.accounts = Caffeine.newBuilder().expireAfterAccess(idle).maximumSize(maxTracked).build();
+        this.addresses = Caffeine.newBuilder().expireAfterAccess(idle).maximumSize(maxTracked).build();
+
+        this.failures = Counter.builder("security.login.failures")
+                .description("Sign-in attempts with wrong credentials")
+                .register(meterRegistry);
+        this.accountThrottled = throttled(meterRegistry, "account");
+        this.addressThrottled = throttled(meterRegistry, "address");
+        Gauge.builder("security.login.throttle.tracked", accounts, Cache::estimatedSize)
+                .tag("scope", "account")
+                .register(meterRegistry);
+        Gauge.builder("security.login.throttle.tracked", addresses, Cache::estimatedSize)
+                .tag("scope", "address")
+                .register(meterRegistry);
+    }
+
+    public void checkAllowed(String email, String clientAddress) {
+        long now = nanoClock.getAsLong();
+        check(accounts.getIfPresent(accountKey(email)), accountLimit, now, accountThrottled);
+        if (clientAddress != null) {
+            check(addresses.getIfPresent(clientAddress), addressLimit, now, addressThrottled);
+        }
+    }
+
+    public void recordFailure(String email, String clientAddress) {
+        long now = nanoClock.getAsLong();
+        failures.increment();
+        accounts.get(accountKey(email), key -> new DecayingCounter(decayPerNano, now)).increment(now);
+        if (clientAddress != null) {
+            addresses.get(clientAddress, key -> new DecayingCounter(decayPerNano, now)).increment(now);
+        }
+    }
+
+    // Only the account is forgiven: one valid login must not launder an address that is stuffing others
+    public void recordSuccess(String email) {
+        accounts.invalidate(accountKey(email));
+    }
+
+    private void check(DecayingCounter counter, double limit, long now, Counter throttled) {
+        if (counter == null) {
+            return;
+        }
+        // Counting this attempt as a failure: the limit-th failure refuses the next attempt. The decayed count
+        // sits just under the number of failures as soon as any time has passed, so it can't be compared to the
+        // limit itself. A limit of 1 releases once half a failure is left.
+        double allowed = Math.max(limit - 1, 0.5);
+        double value = counter.value(now);
+        if (value > allowed) {
+            throttled.increment();
+            // Time for the count to decay back to what the limit allows
+            long waitNanos = (long) (Math.log(value / allowed) / decayPerNano);
+            throw new TooManyRequestsException(MESSAGE, Duration.ofNanos(waitNanos).plusSeconds(1));
+        }
+    }
+
+    private static String accountKey(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static Counter throttled(MeterRegistry meterRegistry, String scope) {
+        return Counter.builder("security.login.throttled")
+                .description("Sign-in attempts refused before the credential check")
+                .tag("scope", scope)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,48 @@
+package pl.pzynis.footmatch.infrastructure.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import pl.pzynis.footmatch.domain.model.UserRole;
+import pl.pzynis.footmatch.infrastructure.persistence.entity.UserEntity;
+import pl.pzynis.footmatch.infrastructure.persistence.repository.UserRepository;
+import pl.pzynis.footmatch.infrastructure.persistence.routing.PrimaryReads;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+@Component
+public class PrincipalCache {
+
+    private final UserRepository userRepository;
+    private final Cache<UUID, UserRole> roles;
+
+    public PrincipalCache(
+            UserRepository userRepository,
+            MeterRegistry meterRegistry,
+            @Value("${security.principal-cache.ttl:5m}") Duration ttl,
+            @Value("${security.principal-cache.max-size:10000}") long maxSize) {
+        this.userRepository = userRepository;
+        this.roles = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, roles, "principals");
+    }
+
+    // Unknown users are not cached, so a deleted account is re-checked on every request
+    public Optional<UserRole> findRole(UUID userId) {
+        return Optional.ofNullable(roles.get(userId, id -> PrimaryReads.call(() -> userRepository.findById(id))
+                .map(UserEntity::getRole)
+                .orElse(null)));
+    }
+
+    public void evict(UUID userId) {
+        roles.invalidate(userId);
+    }
+}
@@ -0,0 +1,34 @@
+package pl.pzynis.footmatch.infrastructure.security;
+
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import pl.pzynis.footmatch.infrastructure.persistence.entity.UserEntity;
+
+@Component
+@RequiredArgsConstructor
+public class PrincipalCacheInvalidationListener {
+
+    // Lazy: Hibernate instantiates listeners while the EntityManagerFactory the cache depends on is being built
+    private final ObjectProvider<PrincipalCache> principalCache;
+
+    @PostUpdate
+    @PostRemove
+    void onUserChanged(UserEntity user) {
+        principalCache.getObject().evict(user.getId());
+
+        // Evict again after commit so a concurrent request can't re-cache the pre-commit row
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    principalCache.getObject().evict(user.getId());
+                }
+            });
+        }
+    }
+}
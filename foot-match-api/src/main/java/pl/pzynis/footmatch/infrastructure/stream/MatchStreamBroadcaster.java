@@ -0,0 +1,196 @@
+package pl.pzynis.footmatch.infrastructure.stream;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import pl.pzynis.footmatch.api.dto.MatchStateResponse;
+import pl.pzynis.footmatch.domain.event.MatchChangedEvent;
+import pl.pzynis.footmatch.infrastructure.persistence.notification.MatchChangeNotifiedEvent;
+import pl.pzynis.footmatch.infrastructure.persistence.notification.MatchChangesMissedEvent;
+import pl.pzynis.footmatch.infrastructure.persistence.projection.MatchState;
+import pl.pzynis.footmatch.infrastructure.persistence.repository.MatchRepository;
+import pl.pzynis.footmatch.infrastructure.persistence.routing.PrimaryReads;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Slf4j
+@Component
+public class MatchStreamBroadcaster {
+
+    private static final UUID HEARTBEAT_KEY = new UUID(0, 0);
+
+    private final MatchRepository matchRepository;
+    private final Duration timeout;
+    private final Duration reconnectDelay;
+    private final int maxPending;
+
+    private final Map<UUID, Set<MatchStreamSubscriber>> matchSubscribers = new ConcurrentHashMap<>();
+    private final Set<MatchStreamSubscriber> feedSubscribers = ConcurrentHashMap.newKeySet();
+
+    // Loads each change once, in commit order, however many clients are listening
+    private final ExecutorService dispatcher;
+    // A slow client blocks only its own virtual thread, and only while it has something pending
+    private final ExecutorService writers = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("match-stream-writer-", 0).factory());
+
+    public MatchStreamBroadcaster(
+            MatchRepository matchRepository,
+            MeterRegistry meterRegistry,
+            @Value("${match.stream.timeout:30m}") Duration timeout,
+            @Value("${match.stream.reconnect-delay:5s}") Duration reconnectDelay,
+            @Value("${match.stream.max-pending:256}") int maxPending,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.matchRepository = matchRepository;
+        this.timeout = timeout;
+        this.reconnectDelay = reconnectDelay;
+        this.maxPending = maxPending;
+        Thread.Builder dispatcherThread = virtualThreads ? Thread.ofVirtual() : Thread.ofPlatform().daemon();
+        this.dispatcher = Executors.newSingleThreadExecutor(dispatcherThread.name("match-stream-dispatcher").factory());
+        Gauge.builder("match.stream.subscribers", this, MatchStreamBroadcaster::subscriberCount)
+                .register(meterRegistry);
+    }
+
+    public Optional<SseEmitter> subscribe(UUID matchId) {
+        return PrimaryReads.call(() -> matchRepository.findStateById(matchId)).map(this::subscribe);
+    }
+
+    private SseEmitter subscribe(MatchState state) {
+        UUID matchId = state.id();
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        MatchStreamSubscriber subscriber = new MatchStreamSubscriber(emitter, writers, maxPending,
+                closed -> unsubscribe(matchId, closed));
+        // compute, not computeIfAbsent + add: unsubscribe may drop an emptied set in between
+        matchSubscribers.compute(matchId, (id, subscribers) -> {
+            Set<MatchStreamSubscriber> target = subscribers != null ? subscribers : ConcurrentHashMap.newKeySet();
+            target.add(subscriber);
+            return target;
+        });
+
+        subscriber.send(matchId, stateEvent(state));
+        return emitter;
+    }
+
+    public SseEmitter subscribeFeed() {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        MatchStreamSubscriber subscriber = new MatchStreamSubscriber(emitter, writers, maxPending,
+                feedSubscribers::remove);
+        feedSubscribers.add(subscriber);
+
+        // Commits the response headers straight away, so proxies don't hold the connection open blind
+        subscriber.send(HEARTBEAT_KEY, heartbeat());
+        return emitter;
+    }
+
+    // Fed by the match_changed notifications, so clients connected to any node see changes made on every
+    // node and by the jobs that bypass MatchService
+    @EventListener
+    public void onMatchChangeNotified(MatchChangeNotifiedEvent event) {
+        if (feedSubscribers.isEmpty() && !matchSubscribers.containsKey(event.matchId())) {
+            return;
+        }
+        dispatcher.execute(() -> broadcast(event));
+    }
+
+    // Re-sends the current state of every watched match; feed clients only miss what changed in between
+    @EventListener
+    public void onMatchChangesMissed(MatchChangesMissedEvent event) {
+        dispatcher.execute(() -> matchSubscribers.keySet().forEach(this::resend));
+    }
+
+    // Also lets writers notice connections that died without a FIN before the TCP stack does
+    @Scheduled(fixedDelayString = "${match.stream.heartbeat-interval:15s}")
+    public void sendHeartbeats() {
+        Set<DataWithMediaType> heartbeat = heartbeat();
+        feedSubscribers.forEach(subscriber -> subscriber.send(HEARTBEAT_KEY, heartbeat));
+        matchSubscribers.values().forEach(subscribers ->
+                subscribers.forEach(subscriber -> subscriber.send(HEARTBEAT_KEY, heartbeat)));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        feedSubscribers.forEach(MatchStreamSubscriber::close);
+        matchSubscribers.values().forEach(subscribers -> subscribers.forEach(MatchStreamSubscriber::close));
+        writers.shutdown();
+    }
+
+    private void broadcast(MatchChangeNotifiedEvent event) {
+        UUID matchId = event.matchId();
+        try {
+            Optional<MatchState> state = event.type() == MatchChangedEvent.Type.DELETED
+                    ? Optional.empty()
+                    : PrimaryReads.call(() -> matchRepository.findStateById(matchId));
+            Set<DataWithMediaType> message = state.map(this::stateEvent)
+                    .orElseGet(() -> deletedEvent(matchId));
+
+            matchSubscribers.getOrDefault(matchId, Set.of())
+                    .forEach(subscriber -> subscriber.send(matchId, message));
+            feedSubscribers.forEach(subscriber -> subscriber.send(matchId, message));
+        } catch (RuntimeException e) {
+            log.warn("Failed to broadcast change of match {}", matchId, e);
+        }
+    }
+
+    private void resend(UUID matchId) {
+        try {
+            Set<DataWithMediaType> message = PrimaryReads.call(() -> matchRepository.findStateById(matchId))
+                    .map(this::stateEvent)
+                    .orElseGet(() -> deletedEvent(matchId));
+            matchSubscribers.getOrDefault(matchId, Set.of())
+                    .forEach(subscriber -> subscriber.send(matchId, message));
+        } catch (RuntimeException e) {
+            log.warn("Failed to resend state of match {}", matchId, e);
+        }
+    }
+
+    private void unsubscribe(UUID matchId, MatchStreamSubscriber subscriber) {
+        matchSubscribers.computeIfPresent(matchId, (id, subscribers) -> {
+            subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+
+    private Set<DataWithMediaType> stateEvent(MatchState state) {
+        MatchStateResponse response = new MatchStateResponse(
+                state.id(),
+                state.acceptedCount(),
+                state.maxPlayers(),
+                state.status(),
+                state.updatedAt()
+        );
+        return SseEmitter.event()
+                .name("match")
+                .reconnectTime(reconnectDelay.toMillis())
+                .data(response)
+                .build();
+    }
+
+    private Set<DataWithMediaType> deletedEvent(UUID matchId) {
+        return SseEmitter.event()
+                .name("deleted")
+                .data(matchId.toString())
+                .build();
+    }
+
+    private Set<DataWithMediaType> heartbeat() {
+        return SseEmitter.event().comment("heartbeat").build();
+    }
+
+    private int subscriberCount() {
+        return feedSubscribers.size() + matchSubscribers.values().stream().mapToInt(Set::size).sum();
+    }
+}
@@ -0,0 +1,86 @@
+package pl.pzynis.footmatch.infrastructure.stream;
+
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+// One SSE connection. Holds no thread while idle: a writer task is started only when something is pending.
+final class MatchStreamSubscriber {
+
+    private final SseEmitter emitter;
+    private final Executor writer;
+    private final int maxPending;
+
+    // Latest event per match: a slow client skips intermediate states instead of queueing them
+    private final Map<UUID, Set<DataWithMediaType>> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private volatile boolean closed;
+
+    // onClose receives this subscriber, so the owner can drop exactly it instead of scanning for closed ones
+    MatchStreamSubscriber(SseEmitter emitter, Executor writer, int maxPending, Consumer<MatchStreamSubscriber> onClose) {
+        this.emitter = emitter;
+        this.writer = writer;
+        this.maxPending = maxPending;
+        emitter.onCompletion(() -> {
+            closed = true;
+            pending.clear();
+            onClose.accept(this);
+        });
+        emitter.onTimeout(emitter::complete);
+    }
+
+    void send(UUID key, Set<DataWithMediaType> event) {
+        if (closed) {
+            return;
+        }
+        pending.put(key, event);
+        if (pending.size() > maxPending) {
+            // Too far behind to catch up; the client reconnects and refetches
+            close();
+            return;
+        }
+        if (draining.compareAndSet(false, true)) {
+            writer.execute(this::drain);
+        }
+    }
+
+    void close() {
+        if (!closed) {
+            closed = true;
+            pending.clear();
+            emitter.complete();
+        }
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    private void drain() {
+        do {
+            for (UUID key : pending.keySet()) {
+                Set<DataWithMediaType> event = pending.remove(key);
+                if (event == null || closed) {
+                    continue;
+                }
+                try {
+                    emitter.send(event);
+                } catch (IOException | IllegalStateException e) {
+                    // Client went away; the container completes the emitter and onCompletion unregisters it
+                    closed = true;
+                    pending.clear();
+                    return;
+                }
+            }
+            draining.set(false);
+        } while (!pending.isEmpty() && draining.compareAndSet(false, true));
+    }
+}
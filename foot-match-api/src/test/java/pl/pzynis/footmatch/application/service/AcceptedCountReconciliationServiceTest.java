@@ -0,0 +1,68 @@
+package pl.pzynis.footmatch.application.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
+import pl.pzynis.footmatch.infrastructure.persistence.repository.MatchRepository;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AcceptedCountReconciliationService")
+class AcceptedCountReconciliationServiceTest {
+
+    private static final UUID FIRST_ID = new UUID(0, 0);
+
+    @Mock
+    private MatchRepository matchRepository;
+
+    private AcceptedCountReconciliationService reconciliationService;
+
+    @BeforeEach
+    void setUp() {
+        reconciliationService = new AcceptedCountReconciliationService(
+                matchRepository, TransactionOperations.withoutTransaction(), 2);
+    }
+
+    @Test
+    @DisplayName("powinien przejść po kolejnych porcjach i zsumować naprawione mecze")
+    void shouldWalkChunksAndSumRepairedMatches() {
+        // given
+        List<UUID> firstChunk = List.of(new UUID(0, 1), new UUID(0, 2));
+        List<UUID> secondChunk = List.of(new UUID(0, 3));
+        when(matchRepository.lockUpcomingAfter(FIRST_ID, 2)).thenReturn(firstChunk);
+        when(matchRepository.reconcileAcceptedCounts(firstChunk)).thenReturn(2);
+        when(matchRepository.lockUpcomingAfter(new UUID(0, 2), 2)).thenReturn(secondChunk);
+        when(matchRepository.reconcileAcceptedCounts(secondChunk)).thenReturn(1);
+
+        // when
+        int repaired = reconciliationService.reconcile();
+
+        // then
+        assertThat(repaired).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("nie powinien liczyć niczego gdy nie ma nadchodzących meczów")
+    void shouldNotCountWhenNothingLocked() {
+        // given
+        when(matchRepository.lockUpcomingAfter(FIRST_ID, 2)).thenReturn(List.of());
+
+        // when
+        int repaired = reconciliationService.reconcile();
+
+        // then
+        assertThat(repaired).isZero();
+        verify(matchRepository, never()).reconcileAcceptedCounts(List.of());
+    }
+}
@@ -1,26 +1,35 @@
 package pl.pzynis.footmatch.application.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import pl.pzynis.footmatch.api.dto.AuthResponse;
 import pl.pzynis.footmatch.api.dto.LoginRequest;
 import pl.pzynis.footmatch.api.dto.RegisterRequest;
 import pl.pzynis.footmatch.domain.exception.EmailAlreadyExistsException;
 import pl.pzynis.footmatch.domain.exception.InvalidCredentialsException;
+import pl.pzynis.footmatch.domain.exception.TooManyRequestsException;
 import pl.pzynis.footmatch.domain.model.UserRole;
 import pl.pzynis.footmatch.infrastructure.persistence.entity.UserEntity;
 import pl.pzynis.footmatch.infrastructure.persistence.repository.UserRepository;
+import pl.pzynis.footmatch.infrastructure.security.JwtClaims;
 import pl.pzynis.footmatch.infrastructure.security.JwtTokenProvider;
+import pl.pzynis.footmatch.infrastructure.security.LoginThrottle;
+import pl.pzynis.footmatch.infrastructure.security.PasswordHasher;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -41,7 +50,9 @@ class AuthServiceTest {
     @Mock
     private JwtTokenProvider jwtTokenProvider;
 
-    @InjectMocks
+    private PasswordHasher passwordHasher;
+    private final AtomicLong clock = new AtomicLong();
+    private LoginThrottle loginThrottle;
     private AuthService authService;
 
     private static final UUID USER_ID = UUID.randomUUID();
@@ -51,11 +62,16 @@ class AuthServiceTest {
     private static final String NAME = "Jan Kowalski";
     private static final String ACCESS_TOKEN = "access_token";
     private static final String REFRESH_TOKEN = "refresh_token";
+    private static final String CLIENT_ADDRESS = "203.0.113.7";
 
     private UserEntity testUser;
 
     @BeforeEach
     void setUp() {
+        passwordHasher = new PasswordHasher(passwordEncoder, new SimpleMeterRegistry(), 1, 4, Duration.ofSeconds(2));
+        loginThrottle = new LoginThrottle(new SimpleMeterRegistry(), 3, 10, Duration.ofMinutes(5), 100, clock::get);
+        authService = new AuthService(userRepository, passwordHasher, jwtTokenProvider, loginThrottle);
+
         testUser = UserEntity.builder()
                 .id(USER_ID)
                 .email(EMAIL)
@@ -65,6 +81,11 @@ class AuthServiceTest {
                 .build();
     }
 
+    @AfterEach
+    void tearDown() {
+        passwordHasher.shutdown();
+    }
+
     @Nested
     @DisplayName("register()")
     class RegisterTests {
@@ -139,6 +160,21 @@ class AuthServiceTest {
             verify(userRepository).existsByEmail(EMAIL);
             verify(userRepository, never()).save(any());
         }
+
+        @Test
+        @DisplayName("powinien rzucić wyjątek gdy email zajęto równolegle")
+        void shouldThrowWhenEmailTakenConcurrently() {
+            // given
+            RegisterRequest request = new RegisterRequest(EMAIL, PASSWORD, NAME, UserRole.PLAYER);
+            when(userRepository.existsByEmail(EMAIL)).thenReturn(false);
+            when(passwordEncoder.encode(PASSWORD)).thenReturn(ENCODED_PASSWORD);
+            when(userRepository.save(any(UserEntity.class)))
+                    .thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+            // when/then
+            assertThatThrownBy(() -> authService.register(request))
+                    .isInstanceOf(EmailAlreadyExistsException.class);
+        }
     }
 
     @Nested
@@ -158,7 +194,7 @@ class AuthServiceTest {
             when(jwtTokenProvider.getAccessTokenExpiration()).thenReturn(3600000L);
 
             // when
-            AuthResponse response = authService.login(request);
+            AuthResponse response = authService.login(request, CLIENT_ADDRESS);
 
             // then
             assertThat(response).isNotNull();
@@ -168,6 +204,28 @@ class AuthServiceTest {
 
             verify(userRepository).findByEmail(EMAIL);
             verify(passwordEncoder).matches(PASSWORD, ENCODED_PASSWORD);
+            verify(userRepository, never()).updatePasswordHash(any(), anyString(), anyString());
+        }
+
+        @Test
+        @DisplayName("powinien przehaszować hasło gdy zmienił się koszt BCrypt")
+        void shouldRehashWhenWorkFactorChanged() {
+            // given
+            LoginRequest request = new LoginRequest(EMAIL, PASSWORD);
+
+            when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(testUser));
+            when(passwordEncoder.matches(PASSWORD, ENCODED_PASSWORD)).thenReturn(true);
+            when(passwordEncoder.upgradeEncoding(ENCODED_PASSWORD)).thenReturn(true);
+            when(passwordEncoder.encode(PASSWORD)).thenReturn("rehashed_password");
+            when(jwtTokenProvider.generateAccessToken(any(), anyString(), anyString())).thenReturn(ACCESS_TOKEN);
+            when(jwtTokenProvider.generateRefreshToken(any(), anyString(), anyString())).thenReturn(REFRESH_TOKEN);
+            when(jwtTokenProvider.getAccessTokenExpiration()).thenReturn(3600000L);
+
+            // when
+            authService.login(request, CLIENT_ADDRESS);
+
+            // then
+            verify(userRepository, timeout(1000)).updatePasswordHash(USER_ID, ENCODED_PASSWORD, "rehashed_password");
         }
 
         @Test
@@ -178,7 +236,7 @@ class AuthServiceTest {
             when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.empty());
 
             // when/then
-            assertThatThrownBy(() -> authService.login(request))
+            assertThatThrownBy(() -> authService.login(request, CLIENT_ADDRESS))
                     .isInstanceOf(InvalidCredentialsException.class);
 
             verify(userRepository).findByEmail(EMAIL);
@@ -195,23 +253,48 @@ class AuthServiceTest {
             when(passwordEncoder.matches("wrong_password", ENCODED_PASSWORD)).thenReturn(false);
 
             // when/then
-            assertThatThrownBy(() -> authService.login(request))
+            assertThatThrownBy(() -> authService.login(request, CLIENT_ADDRESS))
                     .isInstanceOf(InvalidCredentialsException.class);
 
             verify(passwordEncoder).matches("wrong_password", ENCODED_PASSWORD);
         }
+
+        @Test
+        @DisplayName("powinien zablokować konto po serii nieudanych prób bez sprawdzania hasła")
+        void shouldThrottleAccountAfterRepeatedFailures() {
+            // given
+            LoginRequest request = new LoginRequest(EMAIL, "wrong_password");
+
+            when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(testUser));
+            when(passwordEncoder.matches("wrong_password", ENCODED_PASSWORD)).thenReturn(false);
+            // A second between attempts, so the count has decayed slightly below 3
+            for (int i = 0; i < 3; i++) {
+                assertThatThrownBy(() -> authService.login(request, CLIENT_ADDRESS))
+                        .isInstanceOf(InvalidCredentialsException.class);
+                clock.addAndGet(Duration.ofSeconds(1).toNanos());
+            }
+
+            // when/then
+            assertThatThrownBy(() -> authService.login(new LoginRequest(" Jan@Example.com", PASSWORD), "198.51.100.1"))
+                    .isInstanceOf(TooManyRequestsException.class);
+            verify(userRepository, times(3)).findByEmail(anyString());
+            verify(passwordEncoder, times(3)).matches(anyString(), anyString());
+        }
     }
 
     @Nested
     @DisplayName("refreshToken()")
     class RefreshTokenTests {
 
+        private JwtClaims refreshClaims() {
+            return new JwtClaims(USER_ID, EMAIL, "PLAYER", Instant.now().plusSeconds(3600));
+        }
+
         @Test
         @DisplayName("powinien odświeżyć token dla poprawnego refresh tokena")
         void shouldRefreshValidToken() {
             // given
-            when(jwtTokenProvider.validateToken(REFRESH_TOKEN)).thenReturn(true);
-            when(jwtTokenProvider.getUserIdFromToken(REFRESH_TOKEN)).thenReturn(USER_ID);
+            when(jwtTokenProvider.parseAndVerify(REFRESH_TOKEN)).thenReturn(Optional.of(refreshClaims()));
             when(userRepository.findById(USER_ID)).thenReturn(Optional.of(testUser));
             when(jwtTokenProvider.generateAccessToken(any(), anyString(), anyString())).thenReturn("new_access_token");
             when(jwtTokenProvider.generateRefreshToken(any(), anyString(), anyString())).thenReturn("new_refresh_token");
@@ -225,21 +308,20 @@ class AuthServiceTest {
             assertThat(response.accessToken()).isEqualTo("new_access_token");
             assertThat(response.refreshToken()).isEqualTo("new_refresh_token");
 
-            verify(jwtTokenProvider).validateToken(REFRESH_TOKEN);
-            verify(jwtTokenProvider).getUserIdFromToken(REFRESH_TOKEN);
+            verify(jwtTokenProvider).parseAndVerify(REFRESH_TOKEN);
         }
 
         @Test
         @DisplayName("powinien rzucić wyjątek dla niepoprawnego tokena")
         void shouldThrowForInvalidToken() {
             // given
-            when(jwtTokenProvider.validateToken("invalid_token")).thenReturn(false);
+            when(jwtTokenProvider.parseAndVerify("invalid_token")).thenReturn(Optional.empty());
 
             // when/then
             assertThatThrownBy(() -> authService.refreshToken("invalid_token"))
                     .isInstanceOf(InvalidCredentialsException.class);
 
-            verify(jwtTokenProvider).validateToken("invalid_token");
+            verify(jwtTokenProvider).parseAndVerify("invalid_token");
             verify(userRepository, never()).findById(any());
         }
 
@@ -247,8 +329,7 @@ class AuthServiceTest {
         @DisplayName("powinien rzucić wyjątek gdy użytkownik nie istnieje")
         void shouldThrowWhenUserNotFoundForRefresh() {
             // given
-            when(jwtTokenProvider.validateToken(REFRESH_TOKEN)).thenReturn(true);
-            when(jwtTokenProvider.getUserIdFromToken(REFRESH_TOKEN)).thenReturn(USER_ID);
+            when(jwtTokenProvider.parseAndVerify(REFRESH_TOKEN)).thenReturn(Optional.of(refreshClaims()));
             when(userRepository.findById(USER_ID)).thenReturn(Optional.empty());
 
             // when/then
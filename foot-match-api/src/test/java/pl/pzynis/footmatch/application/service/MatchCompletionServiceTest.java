@@ -0,0 +1,98 @@
+package pl.pzynis.footmatch.application.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import pl.pzynis.footmatch.domain.event.MatchChangedEvent;
+import pl.pzynis.footmatch.infrastructure.persistence.repository.MatchRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@DisplayName("MatchCompletionService")
+class MatchCompletionServiceTest {
+
+    private static final Duration GRACE = Duration.ofHours(2);
+
+    private final MatchRepository matchRepository = mock(MatchRepository.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private MeterRegistry meterRegistry;
+    private MatchCompletionService completionService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        completionService = new MatchCompletionService(matchRepository, eventPublisher, meterRegistry, GRACE, 100, 3);
+    }
+
+    @Test
+    @DisplayName("powinien kończyć mecze porcjami aż do niepełnej porcji")
+    void shouldCompleteChunksUntilPartialChunk() {
+        // given
+        List<UUID> firstChunk = ids(100);
+        when(matchRepository.completeStartedBefore(any(), eq(100))).thenReturn(firstChunk, ids(40));
+
+        // when
+        int completed = completionService.completePastMatches();
+
+        // then
+        assertThat(completed).isEqualTo(140);
+        verify(matchRepository, times(2)).completeStartedBefore(
+                argThat(cutoff -> cutoff.isBefore(Instant.now().minus(GRACE).plusSeconds(1))), eq(100));
+        assertThat(meterRegistry.get("match.completion.matches").counter().count()).isEqualTo(140);
+        assertThat(meterRegistry.get("match.completion.chunks").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("match.completion.runs").timer().count()).isEqualTo(1);
+        verify(eventPublisher).publishEvent(MatchChangedEvent.updated(firstChunk.get(0)));
+        verify(eventPublisher, times(140)).publishEvent(any(MatchChangedEvent.class));
+    }
+
+    @Test
+    @DisplayName("nie powinien liczyć porcji, gdy nie ma meczów do zakończenia")
+    void shouldNotCountEmptyChunk() {
+        // given
+        when(matchRepository.completeStartedBefore(any(), eq(100))).thenReturn(List.of());
+
+        // when
+        int completed = completionService.completePastMatches();
+
+        // then
+        assertThat(completed).isZero();
+        assertThat(meterRegistry.get("match.completion.chunks").counter().count()).isZero();
+        assertThat(meterRegistry.get("match.completion.runs").timer().count()).isEqualTo(1);
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("powinien zostawić resztę zaległości na kolejne uruchomienie")
+    void shouldStopAfterMaxChunksPerRun() {
+        // given
+        when(matchRepository.completeStartedBefore(any(), eq(100))).thenAnswer(invocation -> ids(100));
+
+        // when
+        int completed = completionService.completePastMatches();
+
+        // then
+        assertThat(completed).isEqualTo(300);
+        verify(matchRepository, times(3)).completeStartedBefore(any(), eq(100));
+    }
+
+    private static List<UUID> ids(int count) {
+        return Stream.generate(UUID::randomUUID).limit(count).toList();
+    }
+}
@@ -0,0 +1,149 @@
+package pl.pzynis.footmatch.application.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import pl.pzynis.footmatch.domain.exception.AlreadyJoinedException;
+import pl.pzynis.footmatch.domain.exception.MatchFullException;
+import pl.pzynis.footmatch.domain.model.ParticipantStatus;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Not @Transactional: every worker thread commits its own transaction against the real database
+@SpringBootTest
+@DisplayName("MatchService - współbieżność")
+class MatchServiceConcurrencyTest {
+
+    private static final int MAX_PLAYERS = 5;
+    private static final int THREADS = 24;
+
+    @Autowired
+    private MatchService matchService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<UUID> userIds = new ArrayList<>();
+    private UUID organizerId;
+    private UUID matchId;
+
+    @BeforeEach
+    void setUp() {
+        organizerId = insertUser("ORGANIZER");
+        matchId = UUID.randomUUID();
+        jdbcTemplate.update(
+                "INSERT INTO match (id, organizer_id, title, location, match_date, max_players, status) VALUES (?, ?, ?, ?, ?, ?, 'OPEN')",
+                matchId, organizerId, "Mecz testowy", "Orlik", Timestamp.from(Instant.now().plus(1, ChronoUnit.DAYS)), MAX_PLAYERS
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM match_participant WHERE match_id = ?", matchId);
+        jdbcTemplate.update("DELETE FROM match WHERE id = ?", matchId);
+        userIds.forEach(id -> jdbcTemplate.update("DELETE FROM app_user WHERE id = ?", id));
+    }
+
+    @Test
+    @DisplayName("równoległe akceptacje nie powinny przekroczyć limitu graczy")
+    void concurrentAcceptsShouldNeverOvershootMaxPlayers() throws Exception {
+        // given
+        List<UUID> players = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            UUID playerId = insertUser("PLAYER");
+            jdbcTemplate.update(
+                    "INSERT INTO match_participant (match_id, player_id, status) VALUES (?, ?, 'PENDING')",
+                    matchId, playerId
+            );
+            players.add(playerId);
+        }
+
+        // when
+        List<Throwable> outcomes = runConcurrently(players.stream()
+                .map(playerId -> (Callable<Object>) () -> matchService.updateParticipantStatus(
+                        matchId, playerId, ParticipantStatus.ACCEPTED, organizerId))
+                .toList());
+
+        // then
+        assertThat(outcomes.stream().filter(t -> t == null).count()).isEqualTo(MAX_PLAYERS);
+        assertThat(outcomes).filteredOn(t -> t != null).allMatch(MatchFullException.class::isInstance);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT accepted_count FROM match WHERE id = ?", Integer.class, matchId)).isEqualTo(MAX_PLAYERS);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM match_participant WHERE match_id = ? AND status = 'ACCEPTED'", Integer.class, matchId))
+                .isEqualTo(MAX_PLAYERS);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT status FROM match WHERE id = ?", String.class, matchId)).isEqualTo("CLOSED");
+    }
+
+    @Test
+    @DisplayName("równoległe dołączenia tego samego gracza powinny utworzyć jedno zgłoszenie")
+    void concurrentJoinsBySamePlayerShouldCreateSingleParticipant() throws Exception {
+        // given
+        UUID playerId = insertUser("PLAYER");
+
+        // when
+        List<Throwable> outcomes = runConcurrently(IntStream.range(0, THREADS)
+                .mapToObj(i -> (Callable<Object>) () -> matchService.joinMatch(matchId, playerId))
+                .toList());
+
+        // then
+        assertThat(outcomes.stream().filter(t -> t == null).count()).isEqualTo(1);
+        assertThat(outcomes).filteredOn(t -> t != null).allMatch(AlreadyJoinedException.class::isInstance);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM match_participant WHERE match_id = ?", Integer.class, matchId)).isEqualTo(1);
+    }
+
+    private UUID insertUser(String role) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update(
+                "INSERT INTO app_user (id, email, name, role) VALUES (?, ?, ?, ?)",
+                id, id + "@example.com", "Gracz", role
+        );
+        userIds.add(id);
+        return id;
+    }
+
+    // Releases all tasks at once and returns each task's failure, or null when it succeeded
+    private List<Throwable> runConcurrently(List<Callable<Object>> tasks) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newFixedThreadPool(tasks.size())) {
+            List<Future<Object>> futures = tasks.stream()
+                    .map(task -> executor.submit(() -> {
+                        start.await();
+                        return task.call();
+                    }))
+                    .toList();
+            start.countDown();
+
+            List<Throwable> outcomes = new ArrayList<>();
+            for (Future<Object> future : futures) {
+                try {
+                    future.get();
+                    outcomes.add(null);
+                } catch (ExecutionException e) {
+                    outcomes.add(e.getCause());
+                }
+            }
+            return outcomes;
+        }
+    }
+}
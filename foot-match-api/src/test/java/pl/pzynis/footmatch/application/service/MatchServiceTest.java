@@ -1,5 +1,6 @@
 package pl.pzynis.footmatch.application.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -7,34 +8,64 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import pl.pzynis.footmatch.api.dto.BulkParticipantStatusRequest;
+import pl.pzynis.footmatch.api.dto.Coordinates;
 import pl.pzynis.footmatch.api.dto.CreateMatchRequest;
+import pl.pzynis.footmatch.api.dto.CreateMatchSeriesRequest;
+import pl.pzynis.footmatch.api.dto.CursorPageResponse;
 import pl.pzynis.footmatch.api.dto.MatchResponse;
+import pl.pzynis.footmatch.api.dto.MyMatchResponse;
+import pl.pzynis.footmatch.api.dto.NearbyMatchResponse;
 import pl.pzynis.footmatch.api.dto.ParticipantResponse;
 import pl.pzynis.footmatch.api.dto.UpdateMatchRequest;
+import pl.pzynis.footmatch.domain.event.MatchChangedEvent;
 import pl.pzynis.footmatch.domain.exception.AlreadyJoinedException;
+import pl.pzynis.footmatch.domain.exception.InvalidCoordinatesException;
+import pl.pzynis.footmatch.domain.exception.InvalidCursorException;
 import pl.pzynis.footmatch.domain.exception.MatchFullException;
 import pl.pzynis.footmatch.domain.exception.MatchNotFoundException;
 import pl.pzynis.footmatch.domain.exception.UnauthorizedAccessException;
 import pl.pzynis.footmatch.domain.model.MatchStatus;
 import pl.pzynis.footmatch.domain.model.ParticipantStatus;
 import pl.pzynis.footmatch.domain.model.UserRole;
+import pl.pzynis.footmatch.infrastructure.cache.MatchDetailCache;
+import pl.pzynis.footmatch.infrastructure.cache.NearbyMatchIndex;
+import pl.pzynis.footmatch.infrastructure.metrics.MatchMetrics;
 import pl.pzynis.footmatch.infrastructure.persistence.entity.MatchEntity;
 import pl.pzynis.footmatch.infrastructure.persistence.entity.MatchParticipantEntity;
 import pl.pzynis.footmatch.infrastructure.persistence.entity.UserEntity;
+import pl.pzynis.footmatch.infrastructure.persistence.projection.MatchGeoItem;
+import pl.pzynis.footmatch.infrastructure.persistence.projection.MatchListItem;
+import pl.pzynis.footmatch.infrastructure.persistence.projection.MatchListVersion;
+import pl.pzynis.footmatch.infrastructure.persistence.projection.MatchSearchView;
+import pl.pzynis.footmatch.infrastructure.persistence.projection.MyMatchView;
 import pl.pzynis.footmatch.infrastructure.persistence.repository.MatchParticipantRepository;
 import pl.pzynis.footmatch.infrastructure.persistence.repository.MatchRepository;
 import pl.pzynis.footmatch.infrastructure.persistence.repository.UserRepository;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -50,6 +81,20 @@ class MatchServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Spy
+    private MatchDetailCache matchDetailCache = new MatchDetailCache(new SimpleMeterRegistry(), Duration.ofMinutes(10), 100);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private MatchMetrics matchMetrics = new MatchMetrics(meterRegistry);
+
+    @Mock
+    private NearbyMatchIndex nearbyMatchIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private MatchService matchService;
 
@@ -89,6 +134,245 @@ class MatchServiceTest {
                 .build();
     }
 
+    private static MatchListItem listItem(MatchEntity entity) {
+        return new MatchListItem(
+                entity.getId(),
+                entity.getTitle(),
+                entity.getDescription(),
+                entity.getLocation(),
+                entity.getMatchDate(),
+                entity.getMaxPlayers(),
+                entity.getAcceptedCount(),
+                entity.getStatus(),
+                entity.getOrganizer().getId(),
+                entity.getOrganizer().getName(),
+                entity.getCreatedAt(),
+                entity.getUpdatedAt(),
+                1L
+        );
+    }
+
+    @Nested
+    @DisplayName("findAll()")
+    class FindAllTests {
+
+        @Test
+        @DisplayName("powinien zwrócić liczbę graczy bez dodatkowych zapytań")
+        void shouldReturnPlayerCountsWithoutExtraQueries() {
+            // given
+            match.setAcceptedCount(7);
+            Pageable pageable = PageRequest.of(0, 20);
+            Page<MatchListItem> items = new PageImpl<>(List.of(listItem(match)), pageable, 1);
+            when(matchRepository.findWithFilters(null, null, null, pageable)).thenReturn(items);
+
+            // when
+            Versioned<MatchListVersion, Page<MatchResponse>> result = matchService.findAll(null, null, null, pageable);
+
+            // then
+            Page<MatchResponse> page = result.body();
+            assertThat(result.version()).isEqualTo(MatchListVersion.of(items));
+            assertThat(page.getContent()).hasSize(1);
+            assertThat(page.getContent().get(0).currentPlayers()).isEqualTo(7);
+            assertThat(page.getContent().get(0).organizer().name()).isEqualTo("Organizator");
+            verifyNoInteractions(participantRepository, userRepository);
+        }
+    }
+
+    @Nested
+    @DisplayName("findNearby()")
+    class FindNearbyTests {
+
+        @Test
+        @DisplayName("powinien zwrócić mecze z indeksu wraz z odległością")
+        void shouldReturnMatchesFromIndex() {
+            // given
+            MatchGeoItem item = new MatchGeoItem(MATCH_ID, "Mecz testowy", "Orlik Mokotów",
+                    Instant.now().plusSeconds(3600), 10, 4, MatchStatus.OPEN, 52.2010, 21.0190);
+            when(nearbyMatchIndex.findNearby(52.2, 21.0, 50_000, 100))
+                    .thenReturn(List.of(new NearbyMatchIndex.Hit(item, 1312.6)));
+
+            // when: radius and size above the limits are capped
+            List<NearbyMatchResponse> matches = matchService.findNearby(52.2, 21.0, 1_000_000, 500);
+
+            // then
+            assertThat(matches).singleElement().satisfies(match -> {
+                assertThat(match.id()).isEqualTo(MATCH_ID);
+                assertThat(match.currentPlayers()).isEqualTo(4);
+                assertThat(match.coordinates()).isEqualTo(new Coordinates(52.2010, 21.0190));
+                assertThat(match.distanceMeters()).isEqualTo(1313);
+            });
+            verifyNoInteractions(matchRepository);
+        }
+
+        @Test
+        @DisplayName("powinien odrzucić współrzędne spoza zakresu")
+        void shouldRejectInvalidCoordinates() {
+            // when/then
+            assertThatThrownBy(() -> matchService.findNearby(91, 21.0, 5000, 20))
+                    .isInstanceOf(InvalidCoordinatesException.class);
+            assertThatThrownBy(() -> matchService.findNearby(52.2, Double.NaN, 5000, 20))
+                    .isInstanceOf(InvalidCoordinatesException.class);
+            verifyNoInteractions(nearbyMatchIndex);
+        }
+    }
+
+    @Nested
+    @DisplayName("findFeed()")
+    class FindFeedTests {
+
+        @Test
+        @DisplayName("powinien zwrócić kursor następnej strony gdy są kolejne mecze")
+        void shouldReturnNextCursorWhenMoreMatchesExist() {
+            // given
+            MatchEntity nextMatch = MatchEntity.builder()
+                    .id(UUID.randomUUID())
+                    .title("Kolejny mecz")
+                    .location("Orlik Wola")
+                    .matchDate(match.getMatchDate().plusSeconds(3600))
+                    .maxPlayers(10)
+                    .organizer(organizer)
+                    .build();
+            when(matchRepository.findFeed(MatchStatus.OPEN, null, null, null, null, 2))
+                    .thenReturn(List.of(listItem(match), listItem(nextMatch)));
+
+            // when
+            CursorPageResponse<MatchResponse> page = matchService.findFeed(MatchStatus.OPEN, null, null, null, 1);
+
+            // then
+            assertThat(page.content()).extracting(MatchResponse::id).containsExactly(MATCH_ID);
+            assertThat(page.hasNext()).isTrue();
+            assertThat(MatchCursor.decode(page.nextCursor()))
+                    .isEqualTo(new MatchCursor(match.getMatchDate(), MATCH_ID));
+        }
+
+        @Test
+        @DisplayName("powinien kontynuować od pozycji zapisanej w kursorze")
+        void shouldContinueFromCursorPosition() {
+            // given
+            MatchCursor cursor = new MatchCursor(Instant.parse("2024-12-20T18:00:00Z"), UUID.randomUUID());
+            when(matchRepository.findFeed(null, null, null, cursor.matchDate(), cursor.id(), 21))
+                    .thenReturn(List.of(listItem(match)));
+
+            // when
+            CursorPageResponse<MatchResponse> page = matchService.findFeed(null, null, null, cursor.encode(), 20);
+
+            // then
+            assertThat(page.content()).hasSize(1);
+            assertThat(page.hasNext()).isFalse();
+            assertThat(page.nextCursor()).isNull();
+        }
+
+        @Test
+        @DisplayName("powinien rzucić wyjątek dla niepoprawnego kursora")
+        void shouldThrowForInvalidCursor() {
+            // when/then
+            assertThatThrownBy(() -> matchService.findFeed(null, null, null, "not-a-cursor", 20))
+                    .isInstanceOf(InvalidCursorException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("search()")
+    class SearchTests {
+
+        private MatchSearchView searchView(UUID id, float rank) {
+            MatchSearchView view = mock(MatchSearchView.class);
+            when(view.getId()).thenReturn(id);
+            when(view.getTitle()).thenReturn("Mecz testowy");
+            when(view.getLocation()).thenReturn("Orlik Mokotów");
+            when(view.getMatchDate()).thenReturn(match.getMatchDate());
+            when(view.getStatus()).thenReturn("OPEN");
+            when(view.getOrganizerId()).thenReturn(ORGANIZER_ID);
+            when(view.getOrganizerName()).thenReturn("Organizator");
+            lenient().when(view.getRank()).thenReturn(rank);
+            return view;
+        }
+
+        @Test
+        @DisplayName("powinien zwrócić kursor z trafnością ostatniego meczu na stronie")
+        void shouldReturnNextCursorWithRankOfLastMatch() {
+            // given
+            MatchSearchView first = searchView(MATCH_ID, 0.3f);
+            // Only tells search() there is another page; never mapped
+            MatchSearchView next = mock(MatchSearchView.class);
+            when(matchRepository.search("orlik mokotow", null, null, 2)).thenReturn(List.of(first, next));
+
+            // when
+            CursorPageResponse<MatchResponse> page = matchService.search("orlik mokotow", null, 1);
+
+            // then
+            assertThat(page.content()).singleElement().satisfies(result -> {
+                assertThat(result.id()).isEqualTo(MATCH_ID);
+                assertThat(result.location()).isEqualTo("Orlik Mokotów");
+                assertThat(result.status()).isEqualTo(MatchStatus.OPEN);
+            });
+            assertThat(page.hasNext()).isTrue();
+            assertThat(SearchCursor.decode(page.nextCursor())).isEqualTo(new SearchCursor(0.3f, MATCH_ID));
+        }
+
+        @Test
+        @DisplayName("powinien kontynuować od trafności i ID zapisanych w kursorze")
+        void shouldContinueFromCursorPosition() {
+            // given
+            SearchCursor cursor = new SearchCursor(0.1f, UUID.randomUUID());
+            when(matchRepository.search("orlik", 0.1f, cursor.id(), 21)).thenReturn(List.of());
+
+            // when
+            CursorPageResponse<MatchResponse> page = matchService.search("orlik", cursor.encode(), 20);
+
+            // then
+            assertThat(page.content()).isEmpty();
+            assertThat(page.nextCursor()).isNull();
+        }
+
+        @Test
+        @DisplayName("powinien rzucić wyjątek dla niepoprawnego kursora")
+        void shouldThrowForInvalidCursor() {
+            // when/then
+            assertThatThrownBy(() -> matchService.search("orlik", "not-a-cursor", 20))
+                    .isInstanceOf(InvalidCursorException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("findMine()")
+    class FindMineTests {
+
+        @Test
+        @DisplayName("powinien zwrócić mecze gracza ze statusem uczestnictwa")
+        void shouldReturnPlayerMatchesWithParticipantStatus() {
+            // given
+            MyMatchView view = mock(MyMatchView.class);
+            when(view.getId()).thenReturn(MATCH_ID);
+            when(view.getTitle()).thenReturn("Mecz testowy");
+            when(view.getLocation()).thenReturn("Orlik Mokotow");
+            when(view.getMatchDate()).thenReturn(match.getMatchDate());
+            when(view.getMaxPlayers()).thenReturn(10);
+            when(view.getAcceptedCount()).thenReturn(4);
+            when(view.getStatus()).thenReturn("OPEN");
+            when(view.getOrganizerId()).thenReturn(ORGANIZER_ID);
+            when(view.getOrganizerName()).thenReturn("Organizator");
+            when(view.getParticipantStatus()).thenReturn("PENDING");
+
+            Pageable requested = PageRequest.of(1, 10, Sort.by("title"));
+            Pageable unsorted = PageRequest.of(1, 10);
+            when(matchRepository.findMine(PLAYER_ID, unsorted))
+                    .thenReturn(new PageImpl<>(List.of(view), unsorted, 11));
+
+            // when
+            Page<MyMatchResponse> page = matchService.findMine(PLAYER_ID, requested);
+
+            // then
+            assertThat(page.getContent()).singleElement().satisfies(myMatch -> {
+                assertThat(myMatch.match().id()).isEqualTo(MATCH_ID);
+                assertThat(myMatch.match().currentPlayers()).isEqualTo(4);
+                assertThat(myMatch.match().organizer().name()).isEqualTo("Organizator");
+                assertThat(myMatch.organizer()).isFalse();
+                assertThat(myMatch.participantStatus()).isEqualTo(ParticipantStatus.PENDING);
+            });
+        }
+    }
+
     @Nested
     @DisplayName("findById()")
     class FindByIdTests {
@@ -97,8 +381,8 @@ class MatchServiceTest {
         @DisplayName("powinien zwrócić mecz gdy istnieje")
         void shouldReturnMatchWhenExists() {
             // given
-            when(matchRepository.findById(MATCH_ID)).thenReturn(Optional.of(match));
-            when(participantRepository.countByMatchIdAndStatus(MATCH_ID, ParticipantStatus.ACCEPTED)).thenReturn(5);
+            match.setAcceptedCount(5);
+            when(matchRepository.findWithOrganizerById(MATCH_ID)).thenReturn(Optional.of(match));
 
             // when
             MatchResponse response = matchService.findById(MATCH_ID);
@@ -112,11 +396,43 @@ class MatchServiceTest {
             assertThat(response.organizer().id()).isEqualTo(ORGANIZER_ID);
         }
 
+        @Test
+        @DisplayName("powinien zwrócić mecz z cache przy kolejnym odczycie")
+        void shouldServeRepeatedReadsFromCache() {
+            // given
+            when(matchRepository.findWithOrganizerById(MATCH_ID)).thenReturn(Optional.of(match));
+            matchService.findById(MATCH_ID);
+
+            // when
+            MatchResponse response = matchService.findById(MATCH_ID);
+
+            // then
+            assertThat(response.id()).isEqualTo(MATCH_ID);
+            verify(matchRepository, times(1)).findWithOrganizerById(MATCH_ID);
+        }
+
+        @Test
+        @DisplayName("powinien ponownie wczytać mecz po zdarzeniu zmiany")
+        void shouldReloadAfterMatchChangedEvent() {
+            // given
+            when(matchRepository.findWithOrganizerById(MATCH_ID)).thenReturn(Optional.of(match));
+            matchService.findById(MATCH_ID);
+            match.setTitle("Nowy tytul");
+
+            // when
+            matchDetailCache.onMatchChanged(MatchChangedEvent.updated(MATCH_ID));
+            MatchResponse response = matchService.findById(MATCH_ID);
+
+            // then
+            assertThat(response.title()).isEqualTo("Nowy tytul");
+            verify(matchRepository, times(2)).findWithOrganizerById(MATCH_ID);
+        }
+
         @Test
         @DisplayName("powinien rzucić wyjątek gdy mecz nie istnieje")
         void shouldThrowWhenMatchNotFound() {
             // given
-            when(matchRepository.findById(MATCH_ID)).thenReturn(Optional.empty());
+            when(matchRepository.findWithOrganizerById(MATCH_ID)).thenReturn(Optional.empty());
 
             // when/then
             assertThatThrownBy(() -> matchService.findById(MATCH_ID))
@@ -137,7 +453,8 @@ class MatchServiceTest {
                     "Opis",
                     "Orlik Ursynow",
                     LocalDateTime.now().plusDays(1),
-                    10
+                    10,
+                    new Coordinates(52.1420, 21.0305)
             );
 
             when(userRepository.findById(ORGANIZER_ID)).thenReturn(Optional.of(organizer));
@@ -146,7 +463,6 @@ class MatchServiceTest {
                 saved.setId(MATCH_ID);
                 return saved;
             });
-            when(participantRepository.countByMatchIdAndStatus(any(), any())).thenReturn(0);
 
             // when
             MatchResponse response = matchService.create(request, ORGANIZER_ID);
@@ -156,7 +472,44 @@ class MatchServiceTest {
             assertThat(response.title()).isEqualTo("Nowy mecz");
             assertThat(response.status()).isEqualTo(MatchStatus.OPEN);
 
-            verify(matchRepository).save(any(MatchEntity.class));
+            verify(matchRepository).save(argThat(m -> m.getLatitude() == 52.1420 && m.getLongitude() == 21.0305));
+            verify(eventPublisher).publishEvent(MatchChangedEvent.created(MATCH_ID));
+        }
+    }
+
+    @Nested
+    @DisplayName("createSeries()")
+    class CreateSeriesTests {
+
+        @Test
+        @DisplayName("powinien utworzyć serię meczów jednym zapisem")
+        void shouldCreateSeriesInOneSaveAll() {
+            // given
+            LocalDateTime firstDate = LocalDateTime.now().plusDays(1).withNano(0);
+            CreateMatchRequest template = new CreateMatchRequest("Liga środowa", "Opis", "Orlik Ursynow", firstDate, 12, null);
+            CreateMatchSeriesRequest request = new CreateMatchSeriesRequest(template, 4, 7);
+
+            when(userRepository.findById(ORGANIZER_ID)).thenReturn(Optional.of(organizer));
+            when(matchRepository.saveAll(any())).thenAnswer(inv -> {
+                List<MatchEntity> saved = inv.getArgument(0);
+                saved.forEach(m -> m.setId(UUID.randomUUID()));
+                return saved;
+            });
+
+            // when
+            List<MatchResponse> responses = matchService.createSeries(request, ORGANIZER_ID);
+
+            // then
+            assertThat(responses).hasSize(4);
+            assertThat(responses).extracting(MatchResponse::matchDate).containsExactly(
+                    firstDate.toInstant(ZoneOffset.UTC),
+                    firstDate.plusDays(7).toInstant(ZoneOffset.UTC),
+                    firstDate.plusDays(14).toInstant(ZoneOffset.UTC),
+                    firstDate.plusDays(21).toInstant(ZoneOffset.UTC)
+            );
+            assertThat(responses).allMatch(r -> r.maxPlayers() == 12 && r.status() == MatchStatus.OPEN);
+            verify(matchRepository, never()).save(any());
+            verify(eventPublisher, times(4)).publishEvent(any(MatchChangedEvent.class));
         }
     }
 
@@ -173,12 +526,13 @@ class MatchServiceTest {
                     "Nowy opis",
                     "Nowa lokalizacja",
                     LocalDateTime.now().plusDays(2),
-                    12
+                    12,
+                    null
             );
 
+            match.setAcceptedCount(3);
             when(matchRepository.findById(MATCH_ID)).thenReturn(Optional.of(match));
             when(matchRepository.save(any(MatchEntity.class))).thenReturn(match);
-            when(participantRepository.countByMatchIdAndStatus(MATCH_ID, ParticipantStatus.ACCEPTED)).thenReturn(3);
 
             // when
             MatchResponse response = matchService.update(MATCH_ID, request, ORGANIZER_ID);
@@ -186,6 +540,7 @@ class MatchServiceTest {
             // then
             assertThat(response).isNotNull();
             verify(matchRepository).save(any(MatchEntity.class));
+            verify(eventPublisher).publishEvent(MatchChangedEvent.updated(MATCH_ID));
         }
 
         @Test
@@ -193,7 +548,7 @@ class MatchServiceTest {
         void shouldThrowWhenNonOrganizerUpdates() {
             // given
             UpdateMatchRequest request = new UpdateMatchRequest(
-                    "Tytul", "Opis", "Lokalizacja", LocalDateTime.now().plusDays(1), 10
+                    "Tytul", "Opis", "Lokalizacja", LocalDateTime.now().plusDays(1), 10, null
             );
 
             when(matchRepository.findById(MATCH_ID)).thenReturn(Optional.of(match));
@@ -220,6 +575,7 @@ class MatchServiceTest {
 
             // then
             verify(matchRepository).delete(match);
+            verify(eventPublisher).publishEvent(MatchChangedEvent.deleted(MATCH_ID));
         }
 
         @Test
@@ -242,11 +598,11 @@ class MatchServiceTest {
         @DisplayName("powinien pozwolić graczowi dołączyć do meczu")
         void shouldAllowPlayerToJoin() {
             // given
+            match.setAcceptedCount(5);
             when(matchRepository.findById(MATCH_ID)).thenReturn(Optional.of(match));
             when(participantRepository.existsByMatchIdAndPlayerId(MATCH_ID, PLAYER_ID)).thenReturn(false);
-            when(participantRepository.countByMatchIdAndStatus(MATCH_ID, ParticipantStatus.ACCEPTED)).thenReturn(5);
             when(userRepository.findById(PLAYER_ID)).thenReturn(Optional.of(player));
-            when(participantRepository.save(any(MatchParticipantEntity.class))).thenAnswer(inv -> {
+            when(participantRepository.saveAndFlush(any(MatchParticipantEntity.class))).thenAnswer(inv -> {
                 MatchParticipantEntity saved = inv.getArgument(0);
                 saved.setId(UUID.randomUUID());
                 return saved;
@@ -260,20 +616,39 @@ class MatchServiceTest {
             assertThat(response.status()).isEqualTo(ParticipantStatus.PENDING);
             assertThat(response.player().id()).isEqualTo(PLAYER_ID);
 
-            verify(participantRepository).save(any(MatchParticipantEntity.class));
+            verify(participantRepository).saveAndFlush(any(MatchParticipantEntity.class));
+            verify(matchRepository).touch(MATCH_ID);
+            verify(eventPublisher).publishEvent(MatchChangedEvent.participantsChanged(MATCH_ID));
+        }
+
+        @Test
+        @DisplayName("powinien rzucić wyjątek gdy równoległe dołączenie naruszy unikalność")
+        void shouldThrowWhenConcurrentJoinViolatesUniqueConstraint() {
+            // given
+            when(matchRepository.findById(MATCH_ID)).thenReturn(Optional.of(match));
+            when(participantRepository.existsByMatchIdAndPlayerId(MATCH_ID, PLAYER_ID)).thenReturn(false);
+            when(userRepository.findById(PLAYER_ID)).thenReturn(Optional.of(player));
+            when(participantRepository.saveAndFlush(any(MatchParticipantEntity.class)))
+                    .thenThrow(new DataIntegrityViolationException("uq_match_participant_match_player"));
+
+            // when/then
+            assertThatThrownBy(() -> matchService.joinMatch(MATCH_ID, PLAYER_ID))
+                    .isInstanceOf(AlreadyJoinedException.class);
         }
 
         @Test
         @DisplayName("powinien rzucić wyjątek gdy mecz jest pełny")
         void shouldThrowWhenMatchIsFull() {
             // given
+            match.setAcceptedCount(10);
             when(matchRepository.findById(MATCH_ID)).thenReturn(Optional.of(match));
             when(participantRepository.existsByMatchIdAndPlayerId(MATCH_ID, PLAYER_ID)).thenReturn(false);
-            when(participantRepository.countByMatchIdAndStatus(MATCH_ID, ParticipantStatus.ACCEPTED)).thenReturn(10);
 
             // when/then
             assertThatThrownBy(() -> matchService.joinMatch(MATCH_ID, PLAYER_ID))
                     .isInstanceOf(MatchFullException.class);
+            assertThat(meterRegistry.get("match.full.rejections").tag("operation", "join").counter().count())
+                    .isEqualTo(1);
         }
 
         @Test
@@ -329,21 +704,47 @@ class MatchServiceTest {
                     .status(ParticipantStatus.PENDING)
                     .build();
 
-            when(participantRepository.findByMatchIdAndPlayerId(MATCH_ID, PLAYER_ID))
+            when(participantRepository.findLockedByMatchIdAndPlayerId(MATCH_ID, PLAYER_ID))
+                    .thenReturn(Optional.of(participant));
+
+            // when
+            matchService.leaveMatch(MATCH_ID, PLAYER_ID);
+
+            // then
+            verify(participantRepository).delete(participant);
+            verify(matchRepository, never()).releaseSlot(any());
+            verify(matchRepository).touch(MATCH_ID);
+        }
+
+        @Test
+        @DisplayName("powinien zmniejszyć liczbę graczy gdy odchodzi zaakceptowany gracz")
+        void shouldDecrementCountWhenAcceptedPlayerLeaves() {
+            // given
+            MatchParticipantEntity participant = MatchParticipantEntity.builder()
+                    .id(UUID.randomUUID())
+                    .match(match)
+                    .player(player)
+                    .status(ParticipantStatus.ACCEPTED)
+                    .build();
+
+            when(participantRepository.findLockedByMatchIdAndPlayerId(MATCH_ID, PLAYER_ID))
                     .thenReturn(Optional.of(participant));
 
             // when
             matchService.leaveMatch(MATCH_ID, PLAYER_ID);
 
             // then
+            verify(matchRepository).releaseSlot(MATCH_ID);
+            verify(matchRepository, never()).touch(any());
             verify(participantRepository).delete(participant);
+            verify(eventPublisher).publishEvent(MatchChangedEvent.participantsChanged(MATCH_ID));
         }
 
         @Test
         @DisplayName("powinien rzucić wyjątek gdy uczestnik nie istnieje")
         void shouldThrowWhenParticipantNotFound() {
             // given
-            when(participantRepository.findByMatchIdAndPlayerId(MATCH_ID, PLAYER_ID))
+            when(participantRepository.findLockedByMatchIdAndPlayerId(MATCH_ID, PLAYER_ID))
                     .thenReturn(Optional.empty());
 
             // when/then
@@ -368,10 +769,9 @@ class MatchServiceTest {
                     .build();
 
             when(matchRepository.findById(MATCH_ID)).thenReturn(Optional.of(match));
-            when(participantRepository.findByMatchIdAndPlayerId(MATCH_ID, PLAYER_ID))
+            when(participantRepository.findLockedByMatchIdAndPlayerId(MATCH_ID, PLAYER_ID))
                     .thenReturn(Optional.of(participant));
-            when(participantRepository.countByMatchIdAndStatus(MATCH_ID, ParticipantStatus.ACCEPTED))
-                    .thenReturn(5);
+            when(matchRepository.reserveSlot(MATCH_ID)).thenReturn(Optional.of(false));
             when(participantRepository.save(any(MatchParticipantEntity.class))).thenReturn(participant);
 
             // when
@@ -381,13 +781,19 @@ class MatchServiceTest {
 
             // then
             assertThat(response).isNotNull();
+            assertThat(participant.getStatus()).isEqualTo(ParticipantStatus.ACCEPTED);
             verify(participantRepository).save(any(MatchParticipantEntity.class));
+            verify(matchRepository).reserveSlot(MATCH_ID);
+            verify(eventPublisher).publishEvent(MatchChangedEvent.participantsChanged(MATCH_ID));
+            assertThat(meterRegistry.get("match.accepts").counter().count()).isEqualTo(1);
+            assertThat(meterRegistry.get("match.time.to.fill").timer().count()).isZero();
         }
 
         @Test
-        @DisplayName("powinien odrzucić uczestnika")
-        void shouldRejectParticipant() {
+        @DisplayName("powinien zmierzyć czas zapełnienia meczu przy akceptacji ostatniego gracza")
+        void shouldRecordTimeToFillWhenLastSlotTaken() {
             // given
+            match.setCreatedAt(Instant.now().minus(Duration.ofHours(2)));
             MatchParticipantEntity participant = MatchParticipantEntity.builder()
                     .id(UUID.randomUUID())
                     .match(match)
@@ -396,26 +802,48 @@ class MatchServiceTest {
                     .build();
 
             when(matchRepository.findById(MATCH_ID)).thenReturn(Optional.of(match));
-            when(participantRepository.findByMatchIdAndPlayerId(MATCH_ID, PLAYER_ID))
+            when(participantRepository.findLockedByMatchIdAndPlayerId(MATCH_ID, PLAYER_ID))
                     .thenReturn(Optional.of(participant));
-            when(participantRepository.countByMatchIdAndStatus(MATCH_ID, ParticipantStatus.ACCEPTED))
-                    .thenReturn(5);
+            when(matchRepository.reserveSlot(MATCH_ID)).thenReturn(Optional.of(true));
             when(participantRepository.save(any(MatchParticipantEntity.class))).thenReturn(participant);
 
             // when
-            ParticipantResponse response = matchService.updateParticipantStatus(
-                    MATCH_ID, PLAYER_ID, ParticipantStatus.REJECTED, ORGANIZER_ID
-            );
+            matchService.updateParticipantStatus(MATCH_ID, PLAYER_ID, ParticipantStatus.ACCEPTED, ORGANIZER_ID);
 
             // then
-            assertThat(response).isNotNull();
+            assertThat(meterRegistry.get("match.time.to.fill").timer().count()).isEqualTo(1);
+            assertThat(meterRegistry.get("match.time.to.fill").timer().totalTime(TimeUnit.HOURS))
+                    .isGreaterThanOrEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("powinien zmniejszyć liczbę graczy przy odrzuceniu zaakceptowanego uczestnika")
+        void shouldDecrementCountWhenRejectingAcceptedParticipant() {
+            // given
+            MatchParticipantEntity participant = MatchParticipantEntity.builder()
+                    .id(UUID.randomUUID())
+                    .match(match)
+                    .player(player)
+                    .status(ParticipantStatus.ACCEPTED)
+                    .build();
+
+            when(matchRepository.findById(MATCH_ID)).thenReturn(Optional.of(match));
+            when(participantRepository.findLockedByMatchIdAndPlayerId(MATCH_ID, PLAYER_ID))
+                    .thenReturn(Optional.of(participant));
+            when(participantRepository.save(any(MatchParticipantEntity.class))).thenReturn(participant);
+
+            // when
+            matchService.updateParticipantStatus(MATCH_ID, PLAYER_ID, ParticipantStatus.REJECTED, ORGANIZER_ID);
+
+            // then
+            verify(matchRepository).releaseSlot(MATCH_ID);
+            verify(matchRepository, never()).reserveSlot(any());
         }
 
         @Test
-        @DisplayName("powinien automatycznie zamknąć mecz gdy jest pełny")
-        void shouldAutoCloseMatchWhenFull() {
+        @DisplayName("powinien odrzucić uczestnika")
+        void shouldRejectParticipant() {
             // given
-            match.setMaxPlayers(10);
             MatchParticipantEntity participant = MatchParticipantEntity.builder()
                     .id(UUID.randomUUID())
                     .match(match)
@@ -424,19 +852,19 @@ class MatchServiceTest {
                     .build();
 
             when(matchRepository.findById(MATCH_ID)).thenReturn(Optional.of(match));
-            when(participantRepository.findByMatchIdAndPlayerId(MATCH_ID, PLAYER_ID))
+            when(participantRepository.findLockedByMatchIdAndPlayerId(MATCH_ID, PLAYER_ID))
                     .thenReturn(Optional.of(participant));
-            when(participantRepository.countByMatchIdAndStatus(MATCH_ID, ParticipantStatus.ACCEPTED))
-                    .thenReturn(9)  // przed akceptacja
-                    .thenReturn(10); // po akceptacji - teraz pełny
             when(participantRepository.save(any(MatchParticipantEntity.class))).thenReturn(participant);
 
             // when
-            matchService.updateParticipantStatus(MATCH_ID, PLAYER_ID, ParticipantStatus.ACCEPTED, ORGANIZER_ID);
+            ParticipantResponse response = matchService.updateParticipantStatus(
+                    MATCH_ID, PLAYER_ID, ParticipantStatus.REJECTED, ORGANIZER_ID
+            );
 
             // then
-            verify(matchRepository).save(match);
-            assertThat(match.getStatus()).isEqualTo(MatchStatus.CLOSED);
+            assertThat(response).isNotNull();
+            verify(matchRepository, never()).releaseSlot(any());
+            verify(matchRepository).touch(MATCH_ID);
         }
 
         @Test
@@ -464,16 +892,123 @@ class MatchServiceTest {
                     .build();
 
             when(matchRepository.findById(MATCH_ID)).thenReturn(Optional.of(match));
-            when(participantRepository.findByMatchIdAndPlayerId(MATCH_ID, PLAYER_ID))
+            when(participantRepository.findLockedByMatchIdAndPlayerId(MATCH_ID, PLAYER_ID))
                     .thenReturn(Optional.of(participant));
-            when(participantRepository.countByMatchIdAndStatus(MATCH_ID, ParticipantStatus.ACCEPTED))
-                    .thenReturn(10); // już pełny
+            when(matchRepository.reserveSlot(MATCH_ID)).thenReturn(Optional.empty()); // już pełny
 
             // when/then
             assertThatThrownBy(() -> matchService.updateParticipantStatus(
                     MATCH_ID, PLAYER_ID, ParticipantStatus.ACCEPTED, ORGANIZER_ID
             ))
                     .isInstanceOf(MatchFullException.class);
+            assertThat(meterRegistry.get("match.full.rejections").tag("operation", "accept").counter().count())
+                    .isEqualTo(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("updateParticipantStatuses()")
+    class UpdateParticipantStatusesTests {
+
+        private final UUID secondPlayerId = UUID.randomUUID();
+
+        private MatchParticipantEntity participant(UUID playerId, ParticipantStatus status) {
+            return MatchParticipantEntity.builder()
+                    .id(UUID.randomUUID())
+                    .match(match)
+                    .player(UserEntity.builder().id(playerId).name("Gracz " + playerId).role(UserRole.PLAYER).build())
+                    .status(status)
+                    .build();
+        }
+
+        @Test
+        @DisplayName("powinien zarezerwować wszystkie miejsca jednym zapytaniem")
+        void shouldReserveAllSlotsInOneStatement() {
+            // given
+            MatchParticipantEntity first = participant(PLAYER_ID, ParticipantStatus.PENDING);
+            MatchParticipantEntity second = participant(secondPlayerId, ParticipantStatus.PENDING);
+            when(matchRepository.findById(MATCH_ID)).thenReturn(Optional.of(match));
+            when(participantRepository.findLockedByMatchIdAndPlayerIdIn(eq(MATCH_ID), any()))
+                    .thenReturn(List.of(second, first));
+            when(matchRepository.reserveSlots(MATCH_ID, 2)).thenReturn(Optional.of(false));
+
+            // when
+            List<ParticipantResponse> responses = matchService.updateParticipantStatuses(MATCH_ID, List.of(
+                    new BulkParticipantStatusRequest.Decision(PLAYER_ID, ParticipantStatus.ACCEPTED),
+                    new BulkParticipantStatusRequest.Decision(secondPlayerId, ParticipantStatus.ACCEPTED)
+            ), ORGANIZER_ID);
+
+            // then
+            assertThat(responses).extracting(response -> response.player().id())
+                    .containsExactly(PLAYER_ID, secondPlayerId);
+            assertThat(responses).allMatch(response -> response.status() == ParticipantStatus.ACCEPTED);
+            verify(matchRepository, never()).reserveSlot(any());
+            verify(participantRepository).saveAll(any());
+            verify(eventPublisher).publishEvent(MatchChangedEvent.participantsChanged(MATCH_ID));
+            assertThat(meterRegistry.get("match.accepts").counter().count()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("powinien tylko oznaczyć zmianę gdy akceptacje i odrzucenia się znoszą")
+        void shouldOnlyTouchWhenAcceptsAndRejectsCancelOut() {
+            // given
+            MatchParticipantEntity accepted = participant(PLAYER_ID, ParticipantStatus.ACCEPTED);
+            MatchParticipantEntity pending = participant(secondPlayerId, ParticipantStatus.PENDING);
+            when(matchRepository.findById(MATCH_ID)).thenReturn(Optional.of(match));
+            when(participantRepository.findLockedByMatchIdAndPlayerIdIn(eq(MATCH_ID), any()))
+                    .thenReturn(List.of(accepted, pending));
+
+            // when
+            matchService.updateParticipantStatuses(MATCH_ID, List.of(
+                    new BulkParticipantStatusRequest.Decision(PLAYER_ID, ParticipantStatus.REJECTED),
+                    new BulkParticipantStatusRequest.Decision(secondPlayerId, ParticipantStatus.ACCEPTED)
+            ), ORGANIZER_ID);
+
+            // then
+            verify(matchRepository).touch(MATCH_ID);
+            verify(matchRepository, never()).reserveSlots(any(), anyInt());
+            verify(matchRepository, never()).releaseSlots(any(), anyInt());
+            assertThat(accepted.getStatus()).isEqualTo(ParticipantStatus.REJECTED);
+            assertThat(pending.getStatus()).isEqualTo(ParticipantStatus.ACCEPTED);
+        }
+
+        @Test
+        @DisplayName("powinien odrzucić całą partię gdy brakuje miejsc")
+        void shouldRejectWholeBatchWhenNotEnoughSlots() {
+            // given
+            MatchParticipantEntity first = participant(PLAYER_ID, ParticipantStatus.PENDING);
+            MatchParticipantEntity second = participant(secondPlayerId, ParticipantStatus.PENDING);
+            when(matchRepository.findById(MATCH_ID)).thenReturn(Optional.of(match));
+            when(participantRepository.findLockedByMatchIdAndPlayerIdIn(eq(MATCH_ID), any()))
+                    .thenReturn(List.of(first, second));
+            when(matchRepository.reserveSlots(MATCH_ID, 2)).thenReturn(Optional.empty());
+
+            // when/then
+            assertThatThrownBy(() -> matchService.updateParticipantStatuses(MATCH_ID, List.of(
+                    new BulkParticipantStatusRequest.Decision(PLAYER_ID, ParticipantStatus.ACCEPTED),
+                    new BulkParticipantStatusRequest.Decision(secondPlayerId, ParticipantStatus.ACCEPTED)
+            ), ORGANIZER_ID))
+                    .isInstanceOf(MatchFullException.class);
+            assertThat(first.getStatus()).isEqualTo(ParticipantStatus.PENDING);
+            verify(participantRepository, never()).saveAll(any());
+            verify(eventPublisher, never()).publishEvent(any());
+        }
+
+        @Test
+        @DisplayName("powinien rzucić wyjątek gdy któryś gracz nie jest uczestnikiem")
+        void shouldThrowWhenParticipantMissing() {
+            // given
+            when(matchRepository.findById(MATCH_ID)).thenReturn(Optional.of(match));
+            when(participantRepository.findLockedByMatchIdAndPlayerIdIn(eq(MATCH_ID), any()))
+                    .thenReturn(List.of(participant(PLAYER_ID, ParticipantStatus.PENDING)));
+
+            // when/then
+            assertThatThrownBy(() -> matchService.updateParticipantStatuses(MATCH_ID, List.of(
+                    new BulkParticipantStatusRequest.Decision(PLAYER_ID, ParticipantStatus.ACCEPTED),
+                    new BulkParticipantStatusRequest.Decision(secondPlayerId, ParticipantStatus.ACCEPTED)
+            ), ORGANIZER_ID))
+                    .isInstanceOf(RuntimeException.class)
+                    .hasMessage("Participant not found");
         }
     }
 
@@ -493,14 +1028,17 @@ class MatchServiceTest {
                     .joinedAt(Instant.now())
                     .build();
 
-            when(matchRepository.existsById(MATCH_ID)).thenReturn(true);
+            Instant lastModified = Instant.parse("2026-10-16T12:00:00Z");
+            when(matchRepository.findLastModifiedById(MATCH_ID)).thenReturn(Optional.of(lastModified));
             when(participantRepository.findByMatchIdWithPlayer(MATCH_ID))
                     .thenReturn(List.of(participant));
 
             // when
-            List<ParticipantResponse> participants = matchService.getParticipants(MATCH_ID);
+            Versioned<Instant, List<ParticipantResponse>> result = matchService.getParticipants(MATCH_ID);
 
             // then
+            List<ParticipantResponse> participants = result.body();
+            assertThat(result.version()).isEqualTo(lastModified);
             assertThat(participants).hasSize(1);
             assertThat(participants.get(0).player().id()).isEqualTo(PLAYER_ID);
             assertThat(participants.get(0).status()).isEqualTo(ParticipantStatus.ACCEPTED);
@@ -510,7 +1048,7 @@ class MatchServiceTest {
         @DisplayName("powinien rzucić wyjątek gdy mecz nie istnieje")
         void shouldThrowWhenMatchNotExists() {
             // given
-            when(matchRepository.existsById(MATCH_ID)).thenReturn(false);
+            when(matchRepository.findLastModifiedById(MATCH_ID)).thenReturn(Optional.empty());
 
             // when/then
             assertThatThrownBy(() -> matchService.getParticipants(MATCH_ID))
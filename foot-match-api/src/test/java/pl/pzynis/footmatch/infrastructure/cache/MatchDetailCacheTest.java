@@ -0,0 +1,109 @@
+package pl.pzynis.footmatch.infrastructure.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import pl.pzynis.footmatch.api.dto.MatchResponse;
+import pl.pzynis.footmatch.api.dto.UserSummaryResponse;
+import pl.pzynis.footmatch.domain.event.MatchChangedEvent;
+import pl.pzynis.footmatch.domain.model.MatchStatus;
+import pl.pzynis.footmatch.infrastructure.persistence.notification.MatchChangeNotifiedEvent;
+import pl.pzynis.footmatch.infrastructure.persistence.notification.MatchChangesMissedEvent;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("MatchDetailCache")
+class MatchDetailCacheTest {
+
+    private static final UUID MATCH_ID = UUID.randomUUID();
+
+    private MeterRegistry meterRegistry;
+    private MatchDetailCache matchDetailCache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        matchDetailCache = new MatchDetailCache(meterRegistry, Duration.ofMinutes(10), 100);
+        loads = new AtomicInteger();
+    }
+
+    private MatchResponse load(UUID matchId) {
+        loads.incrementAndGet();
+        return new MatchResponse(
+                matchId, "Mecz testowy", null, "Orlik", Instant.now().plus(1, ChronoUnit.DAYS), 10, 3,
+                MatchStatus.OPEN, new UserSummaryResponse(UUID.randomUUID(), "Organizator"), Instant.now(), Instant.now()
+        );
+    }
+
+    @Test
+    @DisplayName("powinien publikować współczynnik trafień")
+    void shouldPublishHitRatio() {
+        // when
+        matchDetailCache.get(MATCH_ID, this::load);
+        matchDetailCache.get(MATCH_ID, this::load);
+        matchDetailCache.get(MATCH_ID, this::load);
+        matchDetailCache.get(MATCH_ID, this::load);
+
+        // then
+        assertThat(loads).hasValue(1);
+        assertThat(meterRegistry.get("cache.hit.ratio").tag("cache", "matchDetails").gauge().value())
+                .isEqualTo(0.75);
+    }
+
+    @Test
+    @DisplayName("powinien unieważnić tylko zmieniony mecz")
+    void shouldEvictOnlyChangedMatch() {
+        // given
+        UUID otherMatchId = UUID.randomUUID();
+        matchDetailCache.get(MATCH_ID, this::load);
+        matchDetailCache.get(otherMatchId, this::load);
+
+        // when
+        matchDetailCache.onMatchChanged(MatchChangedEvent.participantsChanged(MATCH_ID));
+        matchDetailCache.get(MATCH_ID, this::load);
+        matchDetailCache.get(otherMatchId, this::load);
+
+        // then
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    @DisplayName("powinien unieważnić mecz zmieniony na innym węźle")
+    void shouldEvictMatchChangedOnAnotherNode() {
+        // given
+        matchDetailCache.get(MATCH_ID, this::load);
+
+        // when
+        matchDetailCache.onMatchChangeNotified(new MatchChangeNotifiedEvent(MATCH_ID, MatchChangedEvent.Type.UPDATED));
+        matchDetailCache.get(MATCH_ID, this::load);
+
+        // then
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("powinien wyczyścić cały cache gdy powiadomienia mogły zaginąć")
+    void shouldEvictAllWhenChangesMissed() {
+        // given
+        UUID otherMatchId = UUID.randomUUID();
+        matchDetailCache.get(MATCH_ID, this::load);
+        matchDetailCache.get(otherMatchId, this::load);
+
+        // when
+        matchDetailCache.onMatchChangesMissed(new MatchChangesMissedEvent());
+        matchDetailCache.get(MATCH_ID, this::load);
+        matchDetailCache.get(otherMatchId, this::load);
+
+        // then
+        assertThat(loads).hasValue(4);
+    }
+}
@@ -0,0 +1,175 @@
+package pl.pzynis.footmatch.infrastructure.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import pl.pzynis.footmatch.domain.event.MatchChangedEvent;
+import pl.pzynis.footmatch.domain.model.MatchStatus;
+import pl.pzynis.footmatch.infrastructure.persistence.projection.MatchGeoItem;
+import pl.pzynis.footmatch.infrastructure.persistence.repository.MatchRepository;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("NearbyMatchIndex")
+class NearbyMatchIndexTest {
+
+    // Palace of Culture and Science, Warsaw
+    private static final double LAT = 52.2318;
+    private static final double LNG = 21.0060;
+
+    private final MatchRepository matchRepository = mock(MatchRepository.class);
+    private final ExecutorService writer = Executors.newSingleThreadExecutor();
+    private MeterRegistry meterRegistry;
+    private NearbyMatchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        index = new NearbyMatchIndex(matchRepository, meterRegistry, 0.02, writer);
+    }
+
+    @AfterEach
+    void tearDown() {
+        index.shutdown();
+    }
+
+    private static MatchGeoItem match(String title, double latitude, double longitude) {
+        return match(UUID.randomUUID(), title, latitude, longitude, MatchStatus.OPEN,
+                Instant.now().plus(1, ChronoUnit.DAYS));
+    }
+
+    private static MatchGeoItem match(UUID id, String title, double latitude, double longitude, MatchStatus status,
+                                      Instant matchDate) {
+        return new MatchGeoItem(id, title, "Boisko", matchDate, 10, 2, status, latitude, longitude);
+    }
+
+    private void rebuildWith(MatchGeoItem... matches) {
+        when(matchRepository.findGeoItems(eq(MatchStatus.OPEN), any())).thenReturn(List.of(matches));
+        index.rebuild().join();
+    }
+
+    // Waits for the queued index updates
+    private void awaitWrites() throws Exception {
+        writer.submit(() -> { }).get();
+    }
+
+    private List<String> titlesNear(double latitude, double longitude, double radiusMeters) {
+        return index.findNearby(latitude, longitude, radiusMeters, 20).stream()
+                .map(hit -> hit.match().title())
+                .toList();
+    }
+
+    @Test
+    @DisplayName("powinien zwrócić mecze w promieniu posortowane od najbliższego")
+    void shouldReturnMatchesWithinRadiusNearestFirst() {
+        // given: ~1.1 km, ~3.3 km and ~11 km north of the search point
+        rebuildWith(
+                match("trzy", LAT + 0.03, LNG),
+                match("jeden", LAT + 0.01, LNG),
+                match("daleko", LAT + 0.10, LNG));
+
+        // when
+        List<NearbyMatchIndex.Hit> hits = index.findNearby(LAT, LNG, 5_000, 20);
+
+        // then
+        assertThat(hits).extracting(hit -> hit.match().title()).containsExactly("jeden", "trzy");
+        assertThat(hits.getFirst().distanceMeters()).isCloseTo(1_112, within(5.0));
+        assertThat(meterRegistry.get("match.nearby.index.size").gauge().value()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("powinien ograniczyć wynik do najbliższych meczów")
+    void shouldKeepOnlyNearestUpToLimit() {
+        // given
+        rebuildWith(
+                match("c", LAT, LNG + 0.03),
+                match("a", LAT, LNG + 0.01),
+                match("d", LAT, LNG - 0.04),
+                match("b", LAT, LNG - 0.02));
+
+        // when
+        List<NearbyMatchIndex.Hit> hits = index.findNearby(LAT, LNG, 10_000, 2);
+
+        // then
+        assertThat(hits).extracting(hit -> hit.match().title()).containsExactly("a", "b");
+    }
+
+    @Test
+    @DisplayName("powinien pominąć mecze, które już się rozpoczęły")
+    void shouldSkipStartedMatches() {
+        // given
+        rebuildWith(
+                match(UUID.randomUUID(), "minął", LAT, LNG, MatchStatus.OPEN, Instant.now().minusSeconds(60)),
+                match("jutro", LAT, LNG));
+
+        // when/then
+        assertThat(titlesNear(LAT, LNG, 1_000)).containsExactly("jutro");
+    }
+
+    @Test
+    @DisplayName("powinien znaleźć mecz po drugiej stronie południka 180")
+    void shouldSearchAcrossAntimeridian() {
+        // given: Fiji, ~2 km east of the search point across the antimeridian
+        rebuildWith(match("Suva", -17.0, -179.995));
+
+        // when/then
+        assertThat(titlesNear(-17.0, 179.985, 5_000)).containsExactly("Suva");
+    }
+
+    @Test
+    @DisplayName("powinien aktualizować indeks po zmianach meczów")
+    void shouldFollowMatchChanges() throws Exception {
+        // given
+        UUID movedId = UUID.randomUUID();
+        UUID closedId = UUID.randomUUID();
+        UUID deletedId = UUID.randomUUID();
+        Instant tomorrow = Instant.now().plus(1, ChronoUnit.DAYS);
+        rebuildWith(
+                match(movedId, "przeniesiony", LAT, LNG, MatchStatus.OPEN, tomorrow),
+                match(closedId, "zamknięty", LAT, LNG, MatchStatus.OPEN, tomorrow),
+                match(deletedId, "usunięty", LAT, LNG, MatchStatus.OPEN, tomorrow));
+        MatchGeoItem created = match("nowy", LAT, LNG);
+        when(matchRepository.findGeoItemById(created.id())).thenReturn(Optional.of(created));
+        // Moved ~22 km south
+        when(matchRepository.findGeoItemById(movedId)).thenReturn(Optional.of(
+                match(movedId, "przeniesiony", LAT - 0.2, LNG, MatchStatus.OPEN, tomorrow)));
+        when(matchRepository.findGeoItemById(closedId)).thenReturn(Optional.of(
+                match(closedId, "zamknięty", LAT, LNG, MatchStatus.CLOSED, tomorrow)));
+
+        // when
+        index.onMatchChanged(MatchChangedEvent.created(created.id()));
+        index.onMatchChanged(MatchChangedEvent.updated(movedId));
+        index.onMatchChanged(MatchChangedEvent.participantsChanged(closedId));
+        index.onMatchChanged(MatchChangedEvent.deleted(deletedId));
+        awaitWrites();
+
+        // then
+        assertThat(titlesNear(LAT, LNG, 1_000)).containsExactly("nowy");
+        assertThat(titlesNear(LAT - 0.2, LNG, 1_000)).containsExactly("przeniesiony");
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("powinien liczyć odległość po okręgu wielkim")
+    void shouldMeasureGreatCircleDistance() {
+        // Warsaw - Kraków, ~252 km
+        assertThat(NearbyMatchIndex.distanceMeters(52.2297, 21.0122, 50.0647, 19.9450))
+                .isCloseTo(252_000, within(2_000.0));
+    }
+}
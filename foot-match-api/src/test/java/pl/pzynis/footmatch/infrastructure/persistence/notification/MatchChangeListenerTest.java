@@ -0,0 +1,27 @@
+package pl.pzynis.footmatch.infrastructure.persistence.notification;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import pl.pzynis.footmatch.domain.event.MatchChangedEvent;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("MatchChangeListener")
+class MatchChangeListenerTest {
+
+    private static final UUID MATCH_ID = UUID.randomUUID();
+
+    @Test
+    @DisplayName("powinien odczytać operację i identyfikator meczu z powiadomienia")
+    void shouldParseOperationAndMatchId() {
+        // when/then
+        assertThat(MatchChangeListener.parse("INSERT:" + MATCH_ID))
+                .isEqualTo(new MatchChangeNotifiedEvent(MATCH_ID, MatchChangedEvent.Type.CREATED));
+        assertThat(MatchChangeListener.parse("UPDATE:" + MATCH_ID))
+                .isEqualTo(new MatchChangeNotifiedEvent(MATCH_ID, MatchChangedEvent.Type.UPDATED));
+        assertThat(MatchChangeListener.parse("DELETE:" + MATCH_ID))
+                .isEqualTo(new MatchChangeNotifiedEvent(MATCH_ID, MatchChangedEvent.Type.DELETED));
+    }
+}
@@ -0,0 +1,500 @@
+package pl.pzynis.footmatch.infrastructure.persistence.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import pl.pzynis.footmatch.domain.model.MatchStatus;
+import pl.pzynis.footmatch.infrastructure.persistence.projection.MatchListItem;
+import pl.pzynis.footmatch.infrastructure.persistence.projection.MatchListVersion;
+import pl.pzynis.footmatch.infrastructure.persistence.projection.MatchSearchView;
+import pl.pzynis.footmatch.infrastructure.persistence.projection.MyMatchView;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+@DisplayName("MatchRepository - plany zapytań")
+class MatchRepositoryQueryPlanTest {
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private static final Instant NOW = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+
+    private UUID organizerId;
+    private UUID playerId;
+    private UUID joinedMatchId;
+
+    @BeforeEach
+    void setUp() {
+        organizerId = insertUser("ORGANIZER");
+        playerId = insertUser("PLAYER");
+        joinedMatchId = insertMatch(organizerId, "Orlik Mokotów, ul. Puławska 12", NOW.plus(1, ChronoUnit.DAYS), MatchStatus.OPEN);
+        insertMatch(organizerId, "Hala Wola 100%", NOW.plus(2, ChronoUnit.DAYS), MatchStatus.OPEN);
+        insertMatch(organizerId, "Orlik Mokotów, ul. Puławska 12", NOW.minus(1, ChronoUnit.DAYS), MatchStatus.CLOSED);
+        jdbcTemplate.update(
+                "INSERT INTO match_participant (match_id, player_id, status) VALUES (?, ?, 'ACCEPTED')",
+                joinedMatchId, playerId
+        );
+    }
+
+    @Nested
+    @DisplayName("findWithFilters()")
+    class FindWithFiltersTests {
+
+        @Test
+        @DisplayName("powinien filtrować po fragmencie lokalizacji bez względu na wielkość liter")
+        void shouldFilterByLocationFragment() {
+            // when
+            Page<MatchListItem> page = matchRepository.findWithFilters(null, "MOKOTÓW", null, PageRequest.of(0, 20));
+
+            // then
+            assertThat(page.getContent())
+                    .extracting(MatchListItem::location)
+                    .containsOnly("Orlik Mokotów, ul. Puławska 12");
+        }
+
+        @Test
+        @DisplayName("powinien traktować znaki wieloznaczne LIKE dosłownie")
+        void shouldTreatLikeWildcardsLiterally() {
+            // when
+            Page<MatchListItem> page = matchRepository.findWithFilters(null, "100%", null, PageRequest.of(0, 20));
+
+            // then
+            assertThat(page.getContent())
+                    .extracting(MatchListItem::location)
+                    .containsExactly("Hala Wola 100%");
+        }
+
+        @Test
+        @DisplayName("powinien filtrować po statusie i dacie początkowej")
+        void shouldFilterByStatusAndDateFrom() {
+            // when
+            Page<MatchListItem> page = matchRepository.findWithFilters(
+                    MatchStatus.OPEN, "orlik", NOW, PageRequest.of(0, 20, Sort.by("matchDate"))
+            );
+
+            // then
+            assertThat(page.getContent()).hasSize(1);
+            assertThat(page.getContent().get(0).matchDate()).isAfter(NOW);
+            assertThat(page.getContent().get(0).organizerName()).isEqualTo("Organizator");
+        }
+    }
+
+    @Nested
+    @DisplayName("findFeed()")
+    class FindFeedTests {
+
+        @Test
+        @DisplayName("powinien przejść wszystkie mecze kolejnymi stronami kursora")
+        void shouldWalkAllMatchesPageByPage() {
+            // given
+            List<MatchListItem> firstPage = matchRepository.findFeed(null, "orlik", null, null, null, 1);
+            MatchListItem last = firstPage.getLast();
+
+            // when
+            List<MatchListItem> secondPage = matchRepository.findFeed(
+                    null, "orlik", null, last.matchDate(), last.id(), 1
+            );
+
+            // then
+            assertThat(firstPage).hasSize(1);
+            assertThat(secondPage).hasSize(1);
+            assertThat(secondPage.getFirst().matchDate()).isAfter(last.matchDate());
+        }
+    }
+
+    @Nested
+    @DisplayName("search()")
+    class SearchTests {
+
+        @Test
+        @DisplayName("powinien znaleźć nadchodzący mecz bez polskich znaków w zapytaniu")
+        void shouldMatchIgnoringDiacritics() {
+            // when
+            List<MatchSearchView> results = matchRepository.search("ORLIK mokotow", null, null, 10);
+
+            // then
+            assertThat(results).extracting(MatchSearchView::getId).containsExactly(joinedMatchId);
+        }
+
+        @Test
+        @DisplayName("powinien dopasować początek słowa i wymagać wszystkich słów")
+        void shouldMatchPrefixesOfAllWords() {
+            // when/then
+            assertThat(matchRepository.search("puław", null, null, 10))
+                    .extracting(MatchSearchView::getId).containsExactly(joinedMatchId);
+            assertThat(matchRepository.search("puław wola", null, null, 10)).isEmpty();
+            assertThat(matchRepository.search(" &|!:* ", null, null, 10)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("nie powinien zwracać odwołanych ani zakończonych meczów")
+        void shouldSkipCancelledAndCompletedMatches() {
+            // given
+            insertMatch(organizerId, "Orlik Mokotów, ul. Puławska 12", NOW.plus(3, ChronoUnit.DAYS), MatchStatus.CANCELLED);
+            insertMatch(organizerId, "Orlik Mokotów, ul. Puławska 12", NOW.plus(4, ChronoUnit.DAYS), MatchStatus.COMPLETED);
+
+            // when/then
+            assertThat(matchRepository.search("puławska", null, null, 10))
+                    .extracting(MatchSearchView::getId).containsExactly(joinedMatchId);
+        }
+
+        @Test
+        @DisplayName("powinien stawiać trafienie w tytule przed trafieniem w lokalizacji i stronicować kursorem")
+        void shouldRankTitleAboveLocationAndPageByCursor() {
+            // given
+            UUID titleMatchId = insertMatch(organizerId, "Hala Wola 100%", NOW.plus(3, ChronoUnit.DAYS), MatchStatus.OPEN);
+            jdbcTemplate.update("UPDATE match SET title = 'Orlik na Woli' WHERE id = ?", titleMatchId);
+
+            // when
+            List<MatchSearchView> firstPage = matchRepository.search("orlik", null, null, 1);
+            MatchSearchView last = firstPage.getLast();
+            List<MatchSearchView> secondPage = matchRepository.search("orlik", last.getRank(), last.getId(), 1);
+
+            // then
+            assertThat(firstPage).extracting(MatchSearchView::getId).containsExactly(titleMatchId);
+            assertThat(secondPage).extracting(MatchSearchView::getId).containsExactly(joinedMatchId);
+            assertThat(secondPage.getFirst().getRank()).isLessThan(last.getRank());
+        }
+    }
+
+    @Nested
+    @DisplayName("MatchListVersion.of()")
+    class ListVersionTests {
+
+        private MatchListVersion listVersion(MatchStatus status, String location) {
+            return MatchListVersion.of(matchRepository.findWithFilters(status, location, null, PageRequest.of(0, 20)));
+        }
+
+        @Test
+        @DisplayName("powinien zmienić wersję po zmianie meczu z wcześniejszym znacznikiem czasu")
+        void shouldChangeWhenMatchChangesWithOlderTimestamp() {
+            // given: a transaction that started earlier commits a change stamped before the newest one
+            jdbcTemplate.update("UPDATE match SET updated_at = ? WHERE id = ?", Timestamp.from(NOW), joinedMatchId);
+            MatchListVersion before = listVersion(MatchStatus.OPEN, "puławska");
+
+            // when
+            jdbcTemplate.update("UPDATE match SET title = 'Nowy tytuł', updated_at = ? WHERE id = ?",
+                    Timestamp.from(NOW.minus(1, ChronoUnit.HOURS)), joinedMatchId);
+
+            // then
+            MatchListVersion after = listVersion(MatchStatus.OPEN, "puławska");
+            assertThat(after.count()).isEqualTo(1);
+            assertThat(after).isNotEqualTo(before);
+        }
+
+        @Test
+        @DisplayName("powinien zmienić wersję po zmianie nazwy organizatora")
+        void shouldChangeWhenOrganizerIsRenamed() {
+            // given
+            MatchListVersion before = listVersion(MatchStatus.OPEN, null);
+
+            // when
+            jdbcTemplate.update("UPDATE app_user SET name = 'Nowa nazwa' WHERE id = ?", organizerId);
+
+            // then
+            assertThat(listVersion(MatchStatus.OPEN, null)).isNotEqualTo(before);
+        }
+
+        @Test
+        @DisplayName("powinien zmienić wersję po dodaniu pasującego meczu")
+        void shouldChangeWhenMatchingMatchIsAdded() {
+            // given
+            MatchListVersion before = listVersion(null, "100%");
+
+            // when
+            insertMatch(organizerId, "Hala Wola 100%", NOW.plus(3, ChronoUnit.DAYS), MatchStatus.OPEN);
+
+            // then
+            assertThat(listVersion(null, "100%")).isNotEqualTo(before);
+        }
+
+        @Test
+        @DisplayName("touch() powinien przesunąć datę ostatniej zmiany meczu")
+        void touchShouldBumpLastModified() {
+            // given
+            jdbcTemplate.update("UPDATE match SET created_at = ? WHERE id = ?", Timestamp.from(NOW.minus(1, ChronoUnit.DAYS)), joinedMatchId);
+            Instant before = matchRepository.findLastModifiedById(joinedMatchId).orElseThrow();
+
+            // when
+            matchRepository.touch(joinedMatchId);
+
+            // then
+            assertThat(matchRepository.findLastModifiedById(joinedMatchId)).hasValueSatisfying(
+                    after -> assertThat(after).isAfter(before)
+            );
+        }
+    }
+
+    @Nested
+    @DisplayName("findMine()")
+    class FindMineTests {
+
+        @Test
+        @DisplayName("powinien zwrócić mecze organizatora")
+        void shouldReturnOrganizedMatches() {
+            // when
+            Page<MyMatchView> page = matchRepository.findMine(organizerId, PageRequest.of(0, 20));
+
+            // then
+            assertThat(page.getTotalElements()).isEqualTo(3);
+            assertThat(page.getContent()).allSatisfy(view -> {
+                assertThat(view.getOrganizerId()).isEqualTo(organizerId);
+                assertThat(view.getParticipantStatus()).isNull();
+            });
+            assertThat(page.getContent()).extracting(MyMatchView::getMatchDate).isSorted();
+        }
+
+        @Test
+        @DisplayName("powinien zwrócić mecze gracza ze statusem uczestnictwa")
+        void shouldReturnJoinedMatchesWithParticipantStatus() {
+            // when
+            Page<MyMatchView> page = matchRepository.findMine(playerId, PageRequest.of(0, 20));
+
+            // then
+            assertThat(page.getContent()).singleElement().satisfies(view -> {
+                assertThat(view.getId()).isEqualTo(joinedMatchId);
+                assertThat(view.getOrganizerName()).isEqualTo("Organizator");
+                assertThat(view.getMatchDate()).isEqualTo(NOW.plus(1, ChronoUnit.DAYS));
+                assertThat(view.getParticipantStatus()).isEqualTo("ACCEPTED");
+            });
+        }
+    }
+
+    @Nested
+    @DisplayName("reserveSlot()")
+    class ReserveSlotTests {
+
+        @Test
+        @DisplayName("powinien zamknąć otwarty mecz przy zajęciu ostatniego miejsca")
+        void shouldCloseOpenMatchOnLastSlot() {
+            // given
+            jdbcTemplate.update("UPDATE match SET accepted_count = 9 WHERE id = ?", joinedMatchId);
+
+            // when/then
+            assertThat(matchRepository.reserveSlot(joinedMatchId)).contains(true);
+            assertThat(matchRepository.reserveSlot(joinedMatchId)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("nie powinien zgłaszać zamknięcia meczu, który był już zamknięty")
+        void shouldNotReportClosingAlreadyClosedMatch() {
+            // given
+            UUID closedId = insertMatch(organizerId, "Hala Wola 100%", NOW.plus(3, ChronoUnit.DAYS), MatchStatus.CLOSED);
+            jdbcTemplate.update("UPDATE match SET accepted_count = 8 WHERE id = ?", closedId);
+
+            // when/then
+            assertThat(matchRepository.reserveSlot(closedId)).contains(false);
+            assertThat(matchRepository.reserveSlot(closedId)).contains(false);
+        }
+
+        @Test
+        @DisplayName("nie powinien przywracać odwołanego meczu jako zamkniętego")
+        void shouldKeepCancelledMatchCancelled() {
+            // given
+            UUID cancelledId = insertMatch(organizerId, "Hala Wola 100%", NOW.plus(3, ChronoUnit.DAYS), MatchStatus.CANCELLED);
+            jdbcTemplate.update("UPDATE match SET accepted_count = 8 WHERE id = ?", cancelledId);
+
+            // when/then
+            assertThat(matchRepository.reserveSlots(cancelledId, 2)).contains(false);
+            assertThat(jdbcTemplate.queryForObject("SELECT status FROM match WHERE id = ?", String.class, cancelledId))
+                    .isEqualTo("CANCELLED");
+        }
+    }
+
+    @Nested
+    @DisplayName("reconcileAcceptedCounts()")
+    class ReconcileAcceptedCountsTests {
+
+        @Test
+        @DisplayName("powinien naprawić liczbę zaakceptowanych tylko w zablokowanych meczach")
+        void shouldRepairAcceptedCountOfLockedMatches() {
+            // given
+            UUID cancelledId = insertMatch(organizerId, "Hala Wola 100%", NOW.plus(3, ChronoUnit.DAYS), MatchStatus.CANCELLED);
+            jdbcTemplate.update("UPDATE match SET accepted_count = 4 WHERE id = ?", cancelledId);
+
+            // when
+            List<UUID> locked = matchRepository.lockUpcomingAfter(new UUID(0, 0), 1000);
+            int repaired = matchRepository.reconcileAcceptedCounts(locked);
+
+            // then
+            assertThat(locked).contains(joinedMatchId).doesNotContain(cancelledId);
+            assertThat(repaired).isEqualTo(1);
+            assertThat(acceptedCountOf(joinedMatchId)).isEqualTo(1);
+            assertThat(acceptedCountOf(cancelledId)).isEqualTo(4);
+        }
+
+        private int acceptedCountOf(UUID matchId) {
+            return jdbcTemplate.queryForObject("SELECT accepted_count FROM match WHERE id = ?", Integer.class, matchId);
+        }
+    }
+
+    @Nested
+    @DisplayName("completeStartedBefore()")
+    class CompleteStartedBeforeTests {
+
+        @Test
+        @DisplayName("powinien zakończyć tylko rozpoczęte mecze otwarte i zamknięte, nie więcej niż limit")
+        void shouldCompleteStartedOpenAndClosedMatchesUpToLimit() {
+            // given
+            UUID startedOpenId = insertMatch(organizerId, "Hala Wola 100%", NOW.minus(3, ChronoUnit.HOURS), MatchStatus.OPEN);
+            UUID cancelledId = insertMatch(organizerId, "Hala Wola 100%", NOW.minus(3, ChronoUnit.HOURS), MatchStatus.CANCELLED);
+
+            // when
+            List<UUID> firstChunk = matchRepository.completeStartedBefore(NOW.minus(1, ChronoUnit.HOURS), 1);
+            List<UUID> secondChunk = matchRepository.completeStartedBefore(NOW.minus(1, ChronoUnit.HOURS), 1);
+            List<UUID> thirdChunk = matchRepository.completeStartedBefore(NOW.minus(1, ChronoUnit.HOURS), 1);
+
+            // then
+            assertThat(firstChunk).hasSize(1);
+            assertThat(secondChunk).hasSize(1);
+            assertThat(thirdChunk).isEmpty();
+            assertThat(List.of(firstChunk.get(0), secondChunk.get(0))).contains(startedOpenId);
+            assertThat(statusOf(startedOpenId)).isEqualTo("COMPLETED");
+            assertThat(statusOf(cancelledId)).isEqualTo("CANCELLED");
+            assertThat(statusOf(joinedMatchId)).isEqualTo("OPEN");
+            assertThat(jdbcTemplate.queryForObject(
+                    "SELECT count(*) FROM match WHERE status = 'COMPLETED' AND organizer_id = ?", Integer.class, organizerId))
+                    .isEqualTo(2);
+        }
+
+        private String statusOf(UUID matchId) {
+            return jdbcTemplate.queryForObject("SELECT status FROM match WHERE id = ?", String.class, matchId);
+        }
+    }
+
+    @Nested
+    @DisplayName("indeksy")
+    class IndexUsageTests {
+
+        @Test
+        @DisplayName("filtr lokalizacji powinien korzystać z indeksu trigramowego")
+        void locationFilterShouldUseTrigramIndex() {
+            // when
+            String plan = explain("""
+                    SELECT m.id FROM match m
+                    WHERE lower(m.location) LIKE '%mokot%' ESCAPE '\\'
+                    """);
+
+            // then
+            assertThat(plan).contains("idx_match_location_trgm");
+        }
+
+        @Test
+        @DisplayName("filtr statusu i daty powinien korzystać z indeksu złożonego")
+        void statusAndDateFilterShouldUseCompositeIndex() {
+            // when
+            String plan = explain("""
+                    SELECT m.id FROM match m
+                    WHERE m.status = 'OPEN' AND m.match_date >= now()
+                    ORDER BY m.match_date
+                    """);
+
+            // then
+            assertThat(plan).contains("idx_match_status_match_date");
+        }
+
+        @Test
+        @DisplayName("moje mecze powinny korzystać z indeksów organizatora i gracza")
+        void myMatchesShouldUseOrganizerAndPlayerIndexes() {
+            // when
+            String plan = explain("""
+                    SELECT id FROM match WHERE organizer_id = '00000000-0000-0000-0000-000000000001'
+                    UNION ALL
+                    SELECT match_id FROM match_participant WHERE player_id = '00000000-0000-0000-0000-000000000001'
+                    """);
+
+            // then
+            assertThat(plan)
+                    .contains("idx_match_organizer_id")
+                    .contains("idx_match_participant_player_id");
+        }
+
+        @Test
+        @DisplayName("kursor feedu powinien zawężać zakres indeksu (match_date, id)")
+        void feedCursorShouldUseKeysetIndexRange() {
+            // when
+            String plan = explain("""
+                    SELECT m.id FROM match m
+                    WHERE m.match_date >= now()
+                      AND (m.match_date > now() OR m.id > gen_random_uuid())
+                    ORDER BY m.match_date, m.id
+                    LIMIT 21
+                    """);
+
+            // then
+            assertThat(plan).contains("idx_match_match_date_id").contains("Index Cond");
+        }
+
+        @Test
+        @DisplayName("wyszukiwanie pełnotekstowe powinno korzystać z indeksu GIN")
+        void searchShouldUseGinIndex() {
+            // when
+            String plan = explain("""
+                    SELECT m.id FROM match m
+                    WHERE m.search_vector @@ to_tsquery('simple', f_unaccent('orlik:* & mokotow:*'))
+                      AND m.status IN ('OPEN', 'CLOSED')
+                    """);
+
+            // then
+            assertThat(plan).contains("idx_match_search_vector_upcoming");
+        }
+
+        @Test
+        @DisplayName("kończenie meczów powinno korzystać z indeksu (status, match_date)")
+        void completionShouldUseStatusAndDateIndex() {
+            // when
+            String plan = explain("""
+                    SELECT id FROM match
+                    WHERE status IN ('OPEN', 'CLOSED') AND match_date < now() - interval '2 hours'
+                    LIMIT 1000
+                    """);
+
+            // then
+            assertThat(plan).contains("idx_match_status_match_date");
+        }
+    }
+
+    // Seq scans are disabled so the assertion checks that an index is usable for the predicate,
+    // independent of how few rows the test database holds.
+    private String explain(String sql) {
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class));
+    }
+
+    private UUID insertUser(String role) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update(
+                "INSERT INTO app_user (id, email, name, role) VALUES (?, ?, ?, ?)",
+                id, id + "@example.com", role.equals("ORGANIZER") ? "Organizator" : "Gracz", role
+        );
+        return id;
+    }
+
+    private UUID insertMatch(UUID organizerId, String location, Instant matchDate, MatchStatus status) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update(
+                "INSERT INTO match (id, organizer_id, title, location, match_date, max_players, status) VALUES (?, ?, ?, ?, ?, ?, ?)",
+                id, organizerId, "Mecz testowy", location, Timestamp.from(matchDate), 10, status.name()
+        );
+        return id;
+    }
+}
@@ -0,0 +1,204 @@
+package pl.pzynis.footmatch.infrastructure.persistence.routing;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.TransactionExecution;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("ReplicaRoutingDataSource")
+class ReplicaRoutingDataSourceTest {
+
+    private static final Duration MAX_LAG = Duration.ofSeconds(2);
+    private static final Duration PROBE_INTERVAL = Duration.ofSeconds(1);
+    private static final Duration WINDOW = Duration.ofSeconds(5);
+
+    private final AtomicLong clock = new AtomicLong();
+    private final Map<DataSource, Duration> lags = new HashMap<>();
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection firstReplicaConnection = mock(Connection.class);
+    private final Connection secondReplicaConnection = mock(Connection.class);
+
+    private DataSource firstReplica;
+    private DataSource secondReplica;
+    private MeterRegistry meterRegistry;
+    private ReadYourWritesWindow readYourWrites;
+    private ReplicaRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        DataSource primary = dataSource(primaryConnection);
+        firstReplica = dataSource(firstReplicaConnection);
+        secondReplica = dataSource(secondReplicaConnection);
+        meterRegistry = new SimpleMeterRegistry();
+        readYourWrites = new ReadYourWritesWindow(WINDOW, 100, clock::get);
+
+        routing = new ReplicaRoutingDataSource(
+                primary,
+                List.of(new ReplicaRoutingDataSource.Replica("replica-0", firstReplica),
+                        new ReplicaRoutingDataSource.Replica("replica-1", secondReplica)),
+                readYourWrites, meterRegistry, MAX_LAG, PROBE_INTERVAL,
+                replica -> {
+                    if (!lags.containsKey(replica)) {
+                        throw new SQLException("Connection refused");
+                    }
+                    return lags.get(replica);
+                },
+                clock::get);
+        routing.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private static DataSource dataSource(Connection connection) throws SQLException {
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        return dataSource;
+    }
+
+    @Test
+    @DisplayName("powinien rozkładać odczyty po replikach mieszczących się w limicie opóźnienia")
+    void shouldBalanceReadsAcrossHealthyReplicas() throws SQLException {
+        // given
+        lags.put(firstReplica, Duration.ZERO);
+        lags.put(secondReplica, Duration.ofMillis(500));
+        routing.probe();
+
+        // when/then
+        assertThat(List.of(routing.getConnection(), routing.getConnection()))
+                .containsExactlyInAnyOrder(firstReplicaConnection, secondReplicaConnection);
+        assertThat(meterRegistry.get("datasource.replica.lag").tag("replica", "replica-1").timeGauge()
+                .value(TimeUnit.MILLISECONDS)).isEqualTo(500);
+    }
+
+    @Test
+    @DisplayName("powinien pominąć replikę z opóźnieniem ponad limit")
+    void shouldSkipLaggingReplica() throws SQLException {
+        // given
+        lags.put(firstReplica, Duration.ofSeconds(10));
+        lags.put(secondReplica, Duration.ZERO);
+        routing.probe();
+
+        // when/then
+        assertThat(routing.getConnection()).isSameAs(secondReplicaConnection);
+        assertThat(routing.getConnection()).isSameAs(secondReplicaConnection);
+    }
+
+    @Test
+    @DisplayName("powinien wrócić do serwera głównego, gdy żadna replika nie jest aktualna")
+    void shouldFallBackToPrimaryWhenNoReplicaIsCurrent() throws SQLException {
+        // given: one replica lags, the other is unreachable
+        lags.put(firstReplica, Duration.ofSeconds(10));
+        routing.probe();
+
+        // when/then
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+        assertThat(meterRegistry.get("datasource.replica.fallbacks").tag("reason", "lag").counter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("datasource.replica.lag").tag("replica", "replica-1").timeGauge()
+                .value(TimeUnit.MILLISECONDS)).isNaN();
+    }
+
+    @Test
+    @DisplayName("powinien przestać używać repliki, której pomiar opóźnienia jest nieaktualny")
+    void shouldStopUsingReplicaWithStaleProbe() throws SQLException {
+        // given
+        lags.put(firstReplica, Duration.ZERO);
+        routing.probe();
+        assertThat(routing.getConnection()).isSameAs(firstReplicaConnection);
+
+        // when: the probe hangs and three intervals pass without a measurement
+        clock.addAndGet(PROBE_INTERVAL.multipliedBy(3).plusMillis(1).toNanos());
+
+        // then
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+    }
+
+    @Test
+    @DisplayName("powinien kierować odczyty użytkownika do serwera głównego zaraz po jego zapisie")
+    void shouldReadYourOwnWritesFromPrimary() throws SQLException {
+        // given
+        lags.put(firstReplica, Duration.ZERO);
+        lags.put(secondReplica, Duration.ZERO);
+        routing.probe();
+        UUID userId = UUID.randomUUID();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(userId, null, List.of()));
+        readYourWrites.afterCommit(readWriteTransaction(), null);
+
+        // when/then
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+        assertThat(meterRegistry.get("datasource.replica.fallbacks").tag("reason", "read_your_writes").counter()
+                .count()).isEqualTo(1);
+
+        // when: the window has passed
+        clock.addAndGet(WINDOW.plusMillis(1).toNanos());
+        routing.probe();
+
+        // then
+        assertThat(routing.getConnection()).isIn(firstReplicaConnection, secondReplicaConnection);
+    }
+
+    @Test
+    @DisplayName("powinien kierować do serwera głównego odczyty oznaczone PrimaryReads")
+    void shouldSendPinnedReadsToPrimary() {
+        // given
+        lags.put(firstReplica, Duration.ZERO);
+        lags.put(secondReplica, Duration.ZERO);
+        routing.probe();
+
+        // when/then
+        assertThat(PrimaryReads.call(routing::determineCurrentLookupKey)).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+        assertThat(routing.determineCurrentLookupKey()).isNotEqualTo(ReplicaRoutingDataSource.PRIMARY);
+        assertThat(meterRegistry.get("datasource.replica.fallbacks").tag("reason", "lag").counter().count())
+                .isZero();
+    }
+
+    @Test
+    @DisplayName("nie powinien wydłużać okna po transakcji tylko do odczytu")
+    void shouldIgnoreReadOnlyCommits() throws SQLException {
+        // given
+        lags.put(firstReplica, Duration.ZERO);
+        routing.probe();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(UUID.randomUUID(), null, List.of()));
+        TransactionExecution readOnly = mock(TransactionExecution.class);
+        when(readOnly.isNewTransaction()).thenReturn(true);
+        when(readOnly.isReadOnly()).thenReturn(true);
+
+        // when
+        readYourWrites.afterCommit(readOnly, null);
+
+        // then
+        assertThat(routing.getConnection()).isSameAs(firstReplicaConnection);
+    }
+
+    private static TransactionExecution readWriteTransaction() {
+        TransactionExecution transaction = mock(TransactionExecution.class);
+        when(transaction.isNewTransaction()).thenReturn(true);
+        when(transaction.isReadOnly()).thenReturn(false);
+        return transaction;
+    }
+}
@@ -5,6 +5,8 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.time.Instant;
+import java.util.Optional;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -87,6 +89,82 @@ class JwtTokenProviderTest {
         }
     }
 
+    @Nested
+    @DisplayName("parseAndVerify()")
+    class ParseAndVerifyTests {
+
+        @Test
+        @DisplayName("powinien zwrócić wszystkie claimy z jednego parsowania")
+        void shouldReturnAllClaims() {
+            // given
+            String token = jwtTokenProvider.generateAccessToken(USER_ID, EMAIL, ROLE);
+
+            // when
+            Optional<JwtClaims> claims = jwtTokenProvider.parseAndVerify(token);
+
+            // then
+            assertThat(claims).hasValueSatisfying(c -> {
+                assertThat(c.userId()).isEqualTo(USER_ID);
+                assertThat(c.email()).isEqualTo(EMAIL);
+                assertThat(c.role()).isEqualTo(ROLE);
+                assertThat(c.expiresAt()).isAfter(Instant.now());
+            });
+        }
+
+        @Test
+        @DisplayName("powinien zwrócić pusty wynik dla niepoprawnego tokena")
+        void shouldReturnEmptyForInvalidToken() {
+            // when
+            Optional<JwtClaims> claims = jwtTokenProvider.parseAndVerify("invalid.token.here");
+
+            // then
+            assertThat(claims).isEmpty();
+        }
+
+        @Test
+        @DisplayName("powinien zwrócić pusty wynik dla wygasłego tokena")
+        void shouldReturnEmptyForExpiredToken() {
+            // given
+            JwtTokenProvider expiredProvider = new JwtTokenProvider(SECRET, -1000L, -1000L);
+            String expiredToken = expiredProvider.generateAccessToken(USER_ID, EMAIL, ROLE);
+
+            // when
+            Optional<JwtClaims> claims = jwtTokenProvider.parseAndVerify(expiredToken);
+
+            // then
+            assertThat(claims).isEmpty();
+        }
+
+        @Test
+        @DisplayName("powinien zwrócić te same claimy z cache przy ponownym użyciu tokena")
+        void shouldReturnCachedClaimsForRepeatedToken() {
+            // given
+            String token = jwtTokenProvider.generateAccessToken(USER_ID, EMAIL, ROLE);
+            JwtClaims first = jwtTokenProvider.parseAndVerify(token).orElseThrow();
+
+            // when
+            Optional<JwtClaims> second = jwtTokenProvider.parseAndVerify(token);
+
+            // then
+            assertThat(second).containsSame(first);
+        }
+
+        @Test
+        @DisplayName("nie powinien akceptować zmodyfikowanego tokena po zcache'owaniu oryginału")
+        void shouldRejectTamperedTokenAfterOriginalWasCached() {
+            // given
+            String token = jwtTokenProvider.generateAccessToken(USER_ID, EMAIL, ROLE);
+            jwtTokenProvider.parseAndVerify(token);
+            String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+            // when
+            Optional<JwtClaims> claims = jwtTokenProvider.parseAndVerify(tampered);
+
+            // then
+            assertThat(claims).isEmpty();
+        }
+    }
+
     @Nested
     @DisplayName("validateToken()")
     class ValidateTokenTests {
@@ -168,8 +246,8 @@ class JwtTokenProviderTest {
     }
 
     @Nested
-    @DisplayName("getUserIdFromToken()")
-    class GetUserIdFromTokenTests {
+    @DisplayName("parseAndVerify() - userId")
+    class UserIdClaimTests {
 
         @Test
         @DisplayName("powinien zwrócić poprawne userId z tokena")
@@ -178,7 +256,7 @@ class JwtTokenProviderTest {
             String token = jwtTokenProvider.generateAccessToken(USER_ID, EMAIL, ROLE);
 
             // when
-            UUID extractedUserId = jwtTokenProvider.getUserIdFromToken(token);
+            UUID extractedUserId = jwtTokenProvider.parseAndVerify(token).orElseThrow().userId();
 
             // then
             assertThat(extractedUserId).isEqualTo(USER_ID);
@@ -194,8 +272,8 @@ class JwtTokenProviderTest {
             String token2 = jwtTokenProvider.generateAccessToken(userId2, "user2@example.com", ROLE);
 
             // when
-            UUID extracted1 = jwtTokenProvider.getUserIdFromToken(token1);
-            UUID extracted2 = jwtTokenProvider.getUserIdFromToken(token2);
+            UUID extracted1 = jwtTokenProvider.parseAndVerify(token1).orElseThrow().userId();
+            UUID extracted2 = jwtTokenProvider.parseAndVerify(token2).orElseThrow().userId();
 
             // then
             assertThat(extracted1).isEqualTo(userId1);
@@ -205,8 +283,8 @@ class JwtTokenProviderTest {
     }
 
     @Nested
-    @DisplayName("getRoleFromToken()")
-    class GetRoleFromTokenTests {
+    @DisplayName("parseAndVerify() - role")
+    class RoleClaimTests {
 
         @Test
         @DisplayName("powinien zwrócić poprawną rolę PLAYER z tokena")
@@ -215,7 +293,7 @@ class JwtTokenProviderTest {
             String token = jwtTokenProvider.generateAccessToken(USER_ID, EMAIL, "PLAYER");
 
             // when
-            String role = jwtTokenProvider.getRoleFromToken(token);
+            String role = jwtTokenProvider.parseAndVerify(token).orElseThrow().role();
 
             // then
             assertThat(role).isEqualTo("PLAYER");
@@ -228,7 +306,7 @@ class JwtTokenProviderTest {
             String token = jwtTokenProvider.generateAccessToken(USER_ID, EMAIL, "ORGANIZER");
 
             // when
-            String role = jwtTokenProvider.getRoleFromToken(token);
+            String role = jwtTokenProvider.parseAndVerify(token).orElseThrow().role();
 
             // then
             assertThat(role).isEqualTo("ORGANIZER");
@@ -262,10 +340,10 @@ class JwtTokenProviderTest {
             String refreshToken = jwtTokenProvider.generateRefreshToken(USER_ID, EMAIL, ROLE);
 
             // when
-            UUID accessUserId = jwtTokenProvider.getUserIdFromToken(accessToken);
-            UUID refreshUserId = jwtTokenProvider.getUserIdFromToken(refreshToken);
-            String accessRole = jwtTokenProvider.getRoleFromToken(accessToken);
-            String refreshRole = jwtTokenProvider.getRoleFromToken(refreshToken);
+            UUID accessUserId = jwtTokenProvider.parseAndVerify(accessToken).orElseThrow().userId();
+            UUID refreshUserId = jwtTokenProvider.parseAndVerify(refreshToken).orElseThrow().userId();
+            String accessRole = jwtTokenProvider.parseAndVerify(accessToken).orElseThrow().role();
+            String refreshRole = jwtTokenProvider.parseAndVerify(refreshToken).orElseThrow().role();
 
             // then
             assertThat(accessUserId).isEqualTo(refreshUserId);
@@ -0,0 +1,111 @@
+package pl.pzynis.footmatch.infrastructure.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import pl.pzynis.footmatch.domain.exception.TooManyRequestsException;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("LoginThrottle")
+class LoginThrottleTest {
+
+    private static final String EMAIL = "jan@example.com";
+    private static final String ADDRESS = "203.0.113.7";
+    private static final Duration HALF_LIFE = Duration.ofMinutes(5);
+
+    private final AtomicLong clock = new AtomicLong();
+    private MeterRegistry meterRegistry;
+    private LoginThrottle loginThrottle;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        loginThrottle = new LoginThrottle(meterRegistry, 4, 6, HALF_LIFE, 100, clock::get);
+    }
+
+    @Test
+    @DisplayName("powinien zablokować konto po osiągnięciu limitu i podać czas do odblokowania")
+    void shouldThrottleAccountAtLimit() {
+        // given
+        for (int i = 0; i < 4; i++) {
+            loginThrottle.recordFailure(EMAIL, "198.51.100." + i);
+        }
+
+        // when/then
+        assertThatThrownBy(() -> loginThrottle.checkAllowed(EMAIL, ADDRESS))
+                .isInstanceOf(TooManyRequestsException.class)
+                .satisfies(e -> assertThat(((TooManyRequestsException) e).getRetryAfter()).isPositive());
+        assertThat(meterRegistry.get("security.login.throttled").tag("scope", "account").counter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("security.login.failures").counter().count()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("powinien zablokować konto po osiągnięciu limitu, gdy między próbami mija czas")
+    void shouldThrottleAccountAtLimitWhileCountDecays() {
+        // given: the count after four failures is slightly below 4 by the next attempt
+        for (int i = 0; i < 4; i++) {
+            loginThrottle.recordFailure(EMAIL, null);
+            clock.addAndGet(Duration.ofSeconds(2).toNanos());
+        }
+
+        // when/then
+        assertThatThrownBy(() -> loginThrottle.checkAllowed(EMAIL, ADDRESS))
+                .isInstanceOf(TooManyRequestsException.class);
+    }
+
+    @Test
+    @DisplayName("powinien zablokować adres atakujący wiele kont")
+    void shouldThrottleAddressAcrossAccounts() {
+        // given
+        for (int i = 0; i < 6; i++) {
+            loginThrottle.recordFailure("user" + i + "@example.com", ADDRESS);
+        }
+
+        // when/then
+        assertThatThrownBy(() -> loginThrottle.checkAllowed("someone@example.com", ADDRESS))
+                .isInstanceOf(TooManyRequestsException.class);
+        assertThat(meterRegistry.get("security.login.throttled").tag("scope", "address").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("powinien odblokować konto gdy licznik wygaśnie")
+    void shouldReleaseAfterDecay() {
+        // given
+        for (int i = 0; i < 4; i++) {
+            loginThrottle.recordFailure(EMAIL, null);
+        }
+
+        // when
+        clock.addAndGet(HALF_LIFE.toNanos());
+
+        // then - 4 failures halve to 2, under the limit of 4
+        assertThatCode(() -> loginThrottle.checkAllowed(EMAIL, ADDRESS)).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("powinien wyzerować konto po udanym logowaniu, ale nie adres")
+    void shouldResetAccountButNotAddressOnSuccess() {
+        // given
+        for (int i = 0; i < 6; i++) {
+            loginThrottle.recordFailure(EMAIL, ADDRESS);
+        }
+
+        // when
+        loginThrottle.recordSuccess(EMAIL);
+
+        // then
+        assertThatCode(() -> loginThrottle.checkAllowed(EMAIL, "198.51.100.1")).doesNotThrowAnyException();
+        assertThatThrownBy(() -> loginThrottle.checkAllowed(EMAIL, ADDRESS))
+                .isInstanceOf(TooManyRequestsException.class);
+    }
+}
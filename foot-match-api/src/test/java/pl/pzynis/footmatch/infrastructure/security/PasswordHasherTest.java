@@ -0,0 +1,100 @@
+package pl.pzynis.footmatch.infrastructure.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import pl.pzynis.footmatch.domain.exception.TooManyRequestsException;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("PasswordHasher")
+class PasswordHasherTest {
+
+    private MeterRegistry meterRegistry;
+    private PasswordHasher passwordHasher;
+    private ExecutorService callers;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        callers = Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordHasher.shutdown();
+        callers.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("powinien odrzucić żądanie gdy pula i kolejka są pełne")
+    void shouldRejectWhenPoolAndQueueAreFull() throws InterruptedException {
+        // given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        passwordHasher = new PasswordHasher(new BlockingEncoder(started, release), meterRegistry, 1, 1,
+                Duration.ofSeconds(3));
+        callers.submit(() -> passwordHasher.encode("running"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        callers.submit(() -> passwordHasher.encode("queued"));
+        waitForQueuedTask();
+
+        // when/then
+        assertThatThrownBy(() -> passwordHasher.encode("rejected"))
+                .isInstanceOf(TooManyRequestsException.class)
+                .satisfies(e -> assertThat(((TooManyRequestsException) e).getRetryAfter()).hasSeconds(3));
+        assertThat(meterRegistry.get("security.password.hashing.rejected").counter().count()).isEqualTo(1);
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("powinien zgłosić potrzebę przehaszowania po podniesieniu kosztu")
+    void shouldRequestUpgradeWhenStrengthRaised() {
+        // given
+        String weakHash = new BCryptPasswordEncoder(4).encode("password123");
+        passwordHasher = new PasswordHasher(new BCryptPasswordEncoder(5), meterRegistry, 1, 1, Duration.ofSeconds(1));
+
+        // when/then
+        assertThat(passwordHasher.matches("password123", weakHash)).isTrue();
+        assertThat(passwordHasher.upgradeEncoding(weakHash)).isTrue();
+        assertThat(passwordHasher.upgradeEncoding(passwordHasher.encode("password123"))).isFalse();
+    }
+
+    private void waitForQueuedTask() throws InterruptedException {
+        // The queued submission is visible in the executor metrics once it is accepted
+        for (int i = 0; i < 500 && meterRegistry.get("executor.queued").gauge().value() < 1; i++) {
+            Thread.sleep(10);
+        }
+    }
+
+    private record BlockingEncoder(CountDownLatch started, CountDownLatch release) implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return rawPassword.toString();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return rawPassword.toString().equals(encodedPassword);
+        }
+    }
+}
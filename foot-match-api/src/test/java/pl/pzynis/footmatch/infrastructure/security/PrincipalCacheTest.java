@@ -0,0 +1,125 @@
+package pl.pzynis.footmatch.infrastructure.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import pl.pzynis.footmatch.domain.model.UserRole;
+import pl.pzynis.footmatch.infrastructure.persistence.entity.UserEntity;
+import pl.pzynis.footmatch.infrastructure.persistence.repository.UserRepository;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PrincipalCache")
+class PrincipalCacheTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private MeterRegistry meterRegistry;
+    private PrincipalCache principalCache;
+
+    private static final UUID USER_ID = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        principalCache = new PrincipalCache(userRepository, meterRegistry, Duration.ofMinutes(5), 100);
+    }
+
+    private UserEntity user(UserRole role) {
+        return UserEntity.builder()
+                .id(USER_ID)
+                .email("test@example.com")
+                .name("Test User")
+                .role(role)
+                .build();
+    }
+
+    @Nested
+    @DisplayName("findRole()")
+    class FindRoleTests {
+
+        @Test
+        @DisplayName("powinien odpytać bazę tylko przy pierwszym żądaniu")
+        void shouldHitDatabaseOnlyOnce() {
+            // given
+            when(userRepository.findById(USER_ID)).thenReturn(Optional.of(user(UserRole.PLAYER)));
+
+            // when
+            Optional<UserRole> first = principalCache.findRole(USER_ID);
+            Optional<UserRole> second = principalCache.findRole(USER_ID);
+
+            // then
+            assertThat(first).contains(UserRole.PLAYER);
+            assertThat(second).contains(UserRole.PLAYER);
+            verify(userRepository, times(1)).findById(USER_ID);
+        }
+
+        @Test
+        @DisplayName("nie powinien cache'ować nieistniejącego użytkownika")
+        void shouldNotCacheMissingUser() {
+            // given
+            when(userRepository.findById(USER_ID)).thenReturn(Optional.empty());
+
+            // when
+            principalCache.findRole(USER_ID);
+            Optional<UserRole> result = principalCache.findRole(USER_ID);
+
+            // then
+            assertThat(result).isEmpty();
+            verify(userRepository, times(2)).findById(USER_ID);
+        }
+
+        @Test
+        @DisplayName("powinien publikować metryki trafień i chybień")
+        void shouldRecordHitAndMissMetrics() {
+            // given
+            when(userRepository.findById(USER_ID)).thenReturn(Optional.of(user(UserRole.PLAYER)));
+
+            // when
+            principalCache.findRole(USER_ID);
+            principalCache.findRole(USER_ID);
+            principalCache.findRole(USER_ID);
+
+            // then
+            assertThat(meterRegistry.get("cache.gets").tag("cache", "principals").tag("result", "miss")
+                    .functionCounter().count()).isEqualTo(1);
+            assertThat(meterRegistry.get("cache.gets").tag("cache", "principals").tag("result", "hit")
+                    .functionCounter().count()).isEqualTo(2);
+        }
+    }
+
+    @Nested
+    @DisplayName("evict()")
+    class EvictTests {
+
+        @Test
+        @DisplayName("powinien wczytać nową rolę po unieważnieniu")
+        void shouldReloadRoleAfterEviction() {
+            // given
+            when(userRepository.findById(USER_ID))
+                    .thenReturn(Optional.of(user(UserRole.PLAYER)))
+                    .thenReturn(Optional.of(user(UserRole.ORGANIZER)));
+            principalCache.findRole(USER_ID);
+
+            // when
+            principalCache.evict(USER_ID);
+            Optional<UserRole> result = principalCache.findRole(USER_ID);
+
+            // then
+            assertThat(result).contains(UserRole.ORGANIZER);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package pl.pzynis.footmatch.infrastructure.stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("MatchStreamSubscriber")
+class MatchStreamSubscriberTest {
+
+    private static final UUID MATCH_ID = UUID.randomUUID();
+
+    private RecordingEmitter emitter;
+    private List<Runnable> writerTasks;
+
+    @BeforeEach
+    void setUp() {
+        emitter = new RecordingEmitter();
+        writerTasks = new ArrayList<>();
+    }
+
+    @Test
+    @DisplayName("powinien wysłać tylko najnowszy stan meczu gdy klient nie nadąża")
+    void shouldCoalescePendingEventsPerMatch() {
+        // given
+        MatchStreamSubscriber subscriber = new MatchStreamSubscriber(emitter, writerTasks::add, 10, closed -> {});
+
+        // when
+        subscriber.send(MATCH_ID, event("1"));
+        subscriber.send(MATCH_ID, event("2"));
+        subscriber.send(MATCH_ID, event("3"));
+        writerTasks.forEach(Runnable::run);
+
+        // then
+        assertThat(writerTasks).hasSize(1);
+        assertThat(emitter.sent).singleElement().asString().contains("data:3");
+    }
+
+    @Test
+    @DisplayName("powinien rozłączyć klienta gdy zaległości przekroczą limit")
+    void shouldCloseWhenTooFarBehind() {
+        // given
+        MatchStreamSubscriber subscriber = new MatchStreamSubscriber(emitter, writerTasks::add, 2, closed -> {});
+
+        // when
+        subscriber.send(UUID.randomUUID(), event("1"));
+        subscriber.send(UUID.randomUUID(), event("2"));
+        subscriber.send(UUID.randomUUID(), event("3"));
+
+        // then
+        assertThat(subscriber.isClosed()).isTrue();
+        assertThat(emitter.completed).isTrue();
+        writerTasks.forEach(Runnable::run);
+        assertThat(emitter.sent).isEmpty();
+    }
+
+    @Test
+    @DisplayName("powinien przestać wysyłać po błędzie zapisu")
+    void shouldStopAfterWriteFailure() {
+        // given
+        emitter.failing = true;
+        MatchStreamSubscriber subscriber = new MatchStreamSubscriber(emitter, Runnable::run, 10, closed -> {});
+
+        // when
+        subscriber.send(MATCH_ID, event("1"));
+        subscriber.send(MATCH_ID, event("2"));
+
+        // then
+        assertThat(subscriber.isClosed()).isTrue();
+        assertThat(emitter.attempts).isEqualTo(1);
+    }
+
+    private static Set<DataWithMediaType> event(String data) {
+        return SseEmitter.event().name("match").data(data).build();
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final List<String> sent = new ArrayList<>();
+        private boolean failing;
+        private boolean completed;
+        private int attempts;
+
+        @Override
+        public void send(Set<DataWithMediaType> items) throws IOException {
+            attempts++;
+            if (failing) {
+                throw new IOException("Broken pipe");
+            }
+            StringBuilder text = new StringBuilder();
+            items.forEach(item -> text.append(item.getData()));
+            sent.add(text.toString());
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+    }
+}
@@ -22,12 +22,15 @@ export default function MatchesScreen() {
   const [loading, setLoading] = useState(true);
   const [refreshing, setRefreshing] = useState(false);
   const [error, setError] = useState<string | null>(null);
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
+  const [loadingMore, setLoadingMore] = useState(false);
 
   const fetchMatches = useCallback(async () => {
     try {
       setError(null);
-      const response = await matchService.getAll({ status: 'OPEN' });
+      const response = await matchService.getFeed({ status: 'OPEN' });
       setMatches(response.content);
+      setNextCursor(response.nextCursor);
     } catch (err) {
       setError('Nie udalo sie pobrac meczy');
       console.error(err);
@@ -37,6 +40,23 @@ export default function MatchesScreen() {
     }
   }, []);
 
+  const fetchMoreMatches = async () => {
+    if (!nextCursor || loadingMore) {
+      return;
+    }
+
+    try {
+      setLoadingMore(true);
+      const response = await matchService.getFeed({ status: 'OPEN', cursor: nextCursor });
+      setMatches((current) => [...current, ...response.content]);
+      setNextCursor(response.nextCursor);
+    } catch (err) {
+      console.error(err);
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   useEffect(() => {
     fetchMatches();
   }, [fetchMatches]);
@@ -81,6 +101,11 @@ export default function MatchesScreen() {
         refreshControl={
           <RefreshControl refreshing={refreshing} onRefresh={onRefresh} />
         }
+        onEndReached={fetchMoreMatches}
+        onEndReachedThreshold={0.5}
+        ListFooterComponent={
+          loadingMore ? <ActivityIndicator style={styles.footerLoader} color={colors.primary} /> : null
+        }
         ListEmptyComponent={
           <View style={styles.emptyContainer}>
             <Text style={styles.emptyText}>Brak dostepnych meczy</Text>
@@ -114,6 +139,9 @@ const styles = StyleSheet.create({
     paddingVertical: spacing.sm,
     flexGrow: 1,
   },
+  footerLoader: {
+    paddingVertical: spacing.md,
+  },
   emptyContainer: {
     flex: 1,
     justifyContent: 'center',
@@ -31,9 +31,8 @@ export default function MyMatchesScreen() {
 
     try {
       setError(null);
-      // For now, fetch all matches - in a real app, we'd have an endpoint for user's matches
-      const response = await matchService.getAll();
-      setMatches(response.content);
+      const response = await matchService.getMine();
+      setMatches(response.content.map((item) => item.match));
     } catch (err) {
       setError('Nie udalo sie pobrac meczy');
       console.error(err);
@@ -1,10 +1,12 @@
 import { request } from './api';
 import type {
   Match,
+  MyMatch,
   CreateMatchRequest,
   UpdateMatchRequest,
   Participant,
   PaginatedResponse,
+  CursorPage,
   MatchStatus,
 } from '@/types';
 
@@ -16,6 +18,14 @@ interface MatchFilters {
   size?: number;
 }
 
+interface FeedFilters {
+  status?: MatchStatus;
+  location?: string;
+  dateFrom?: string;
+  cursor?: string;
+  size?: number;
+}
+
 export const matchService = {
   async getAll(filters?: MatchFilters): Promise<PaginatedResponse<Match>> {
     const params = new URLSearchParams();
@@ -29,6 +39,27 @@ export const matchService = {
     return request<PaginatedResponse<Match>>(`/api/matches${query}`);
   },
 
+  async getFeed(filters?: FeedFilters): Promise<CursorPage<Match>> {
+    const params = new URLSearchParams();
+    if (filters?.status) params.append('status', filters.status);
+    if (filters?.location) params.append('location', filters.location);
+    if (filters?.dateFrom) params.append('dateFrom', filters.dateFrom);
+    if (filters?.cursor) params.append('cursor', filters.cursor);
+    if (filters?.size !== undefined) params.append('size', String(filters.size));
+
+    const query = params.toString() ? `?${params.toString()}` : '';
+    return request<CursorPage<Match>>(`/api/matches/feed${query}`);
+  },
+
+  async getMine(page?: number, size?: number): Promise<PaginatedResponse<MyMatch>> {
+    const params = new URLSearchParams();
+    if (page !== undefined) params.append('page', String(page));
+    if (size !== undefined) params.append('size', String(size));
+
+    const query = params.toString() ? `?${params.toString()}` : '';
+    return request<PaginatedResponse<MyMatch>>(`/api/matches/mine${query}`, {}, true);
+  },
+
   async getById(id: string): Promise<Match> {
     return request<Match>(`/api/matches/${id}`);
   },
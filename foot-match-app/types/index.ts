@@ -49,6 +49,13 @@ export interface Match {
   status: MatchStatus;
   organizer: UserSummary;
   createdAt: string;
+  updatedAt: string;
+}
+
+export interface MyMatch {
+  match: Match;
+  organizer: boolean;
+  participantStatus: ParticipantStatus | null;
 }
 
 export interface CreateMatchRequest {
@@ -90,3 +97,9 @@ export interface PaginatedResponse<T> {
   first: boolean;
   last: boolean;
 }
+
+export interface CursorPage<T> {
+  content: T[];
+  nextCursor: string | null;
+  hasNext: boolean;
+}